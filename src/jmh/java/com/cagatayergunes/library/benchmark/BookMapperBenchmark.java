@@ -0,0 +1,59 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookTransactionHistory;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.mapper.BookMapper;
+import com.cagatayergunes.library.model.response.BookResponse;
+import com.cagatayergunes.library.model.response.BorrowedBookResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class BookMapperBenchmark {
+
+    private final BookMapper mapper = new BookMapper();
+
+    private Book book;
+    private BookTransactionHistory history;
+
+    @Setup
+    public void setUp() {
+        book = Book.builder()
+                .id(42L)
+                .title("The Left Hand of Darkness")
+                .authorName("Ursula K. Le Guin")
+                .isbn("9780441478125")
+                .publicationDate(LocalDate.of(1969, 3, 1))
+                .genre("Science Fiction")
+                .synopsis("An envoy visits a planet whose inhabitants have no fixed sex.")
+                .shareable(true)
+                .coverImage("ab/ab12cd34.jpg")
+                .build();
+        history = BookTransactionHistory.builder()
+                .book(book)
+                .user(User.builder().id(7L).email("patron@example.com").build())
+                .borrowDate(LocalDateTime.now().minusDays(3))
+                .dueDate(LocalDateTime.now().plusDays(11))
+                .build();
+    }
+
+    @Benchmark
+    public BookResponse toBookResponse() {
+        return mapper.toBookResponse(book, 4.2);
+    }
+
+    @Benchmark
+    public BorrowedBookResponse toBorrowedBookResponse() {
+        return mapper.toBorrowedBookResponse(history, 4.2);
+    }
+}
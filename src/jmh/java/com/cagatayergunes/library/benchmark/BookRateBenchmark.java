@@ -0,0 +1,40 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.Feedback;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class BookRateBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int feedbacks;
+
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        book = Book.builder().id(1L).build();
+        List<Feedback> notes = IntStream.range(0, feedbacks)
+                .<Feedback>mapToObj(i -> Feedback.builder().book(book).note((double) random.nextInt(1, 6)).build())
+                .toList();
+        book.setFeedbacks(notes);
+    }
+
+    @Benchmark
+    public double getRate() {
+        return book.getRate();
+    }
+}
@@ -0,0 +1,61 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.model.EmailTemplateName;
+import com.cagatayergunes.library.service.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class EmailTemplateRenderBenchmark {
+
+    @Param({"true", "false"})
+    private boolean templateCache;
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(templateCache);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine);
+        renderer.prewarm();
+    }
+
+    @Benchmark
+    public String renderByName() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("username", "John Doe");
+        properties.put("confirmationUrl", "http://localhost:4200/activate-account");
+        properties.put("activation_code", "123456");
+        Context context = new Context();
+        context.setVariables(properties);
+        return templateEngine.process(EmailTemplateName.ACTIVATE_ACCOUNT.getName(), context);
+    }
+
+    @Benchmark
+    public String renderCachedSpec() {
+        return renderer.render(EmailTemplateName.ACTIVATE_ACCOUNT, "John Doe",
+                "http://localhost:4200/activate-account", "123456");
+    }
+}
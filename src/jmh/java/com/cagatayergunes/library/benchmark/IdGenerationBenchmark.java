@@ -0,0 +1,74 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.LibraryManagementSystemApiApplication;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.Feedback;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    @Param({"sequence", "pooled-lo", "time-ordered"})
+    private String generator;
+
+    @Param({"100"})
+    private int batch;
+
+    private ConfigurableApplicationContext context;
+    private FeedbackRepository feedbackRepository;
+    private TransactionTemplate transactionTemplate;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApiApplication.class)
+                .profiles("dev", "test")
+                .properties("server.port=0", "logging.level.com.cagatayergunes.library=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.jpa.properties.library.id.allocation-size.Feedback=" + ("sequence".equals(generator) ? 1 : 200),
+                        "spring.jpa.properties.library.id.time-ordered-entities=" + ("time-ordered".equals(generator) ? "Feedback" : ""))
+                .run();
+        feedbackRepository = context.getBean(FeedbackRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        book = context.getBean(BookRepository.class).save(Book.builder()
+                .title("Benchmark")
+                .authorName("Author")
+                .shareable(true)
+                .createdBy(1L)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<Feedback> insertFeedback() {
+        return transactionTemplate.execute(status -> feedbackRepository.saveAll(IntStream.range(0, batch)
+                .<Feedback>mapToObj(i -> Feedback.builder()
+                        .book(book)
+                        .note(4.0)
+                        .comment("Review " + i)
+                        .createdBy(1L)
+                        .build())
+                .toList()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.model.Role;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.service.BookService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class IsLibrarianBenchmark {
+
+    private static final MethodHandle IS_LIBRARIAN;
+
+    static {
+        try {
+            IS_LIBRARIAN = MethodHandles.privateLookupIn(BookService.class, MethodHandles.lookup())
+                    .findVirtual(BookService.class, "isLibrarian", MethodType.methodType(boolean.class, User.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private BookService bookService;
+    private User librarian;
+    private User patron;
+
+    @Setup
+    public void setUp() {
+        bookService = new BookService(null, null, null, null, null, null);
+        librarian = user(RoleName.PATRON, RoleName.LIBRARIAN);
+        patron = user(RoleName.PATRON);
+    }
+
+    @Benchmark
+    public boolean librarian() throws Throwable {
+        return (boolean) IS_LIBRARIAN.invokeExact(bookService, librarian);
+    }
+
+    @Benchmark
+    public boolean patron() throws Throwable {
+        return (boolean) IS_LIBRARIAN.invokeExact(bookService, patron);
+    }
+
+    private User user(RoleName... roles) {
+        return User.builder()
+                .email("user@example.com")
+                .roles(List.of(roles).stream().map(name -> Role.builder().name(name).build()).toList())
+                .build();
+    }
+}
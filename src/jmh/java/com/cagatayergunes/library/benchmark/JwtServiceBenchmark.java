@@ -0,0 +1,65 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.model.Role;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.io.Encoders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SplittableRandom(42).nextBytes(secret);
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", Encoders.BASE64.encode(secret));
+        ReflectionTestUtils.setField(jwtService, "EXPIRATION_TIME", 8_640_000L);
+
+        user = User.builder()
+                .id(7L)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .enabled(true)
+                .roles(List.of(Role.builder().name(RoleName.PATRON).build()))
+                .build();
+        claims = Map.of("fullName", user.getFullName());
+        token = jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
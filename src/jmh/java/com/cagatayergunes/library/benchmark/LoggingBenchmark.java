@@ -0,0 +1,131 @@
+package com.cagatayergunes.library.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.cagatayergunes.library.config.RequestLogSampler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+    private static final double SAMPLE_RATE = 0.1;
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"pattern", "ecs"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean sampling;
+
+    private LoggerContext context;
+    private Logger logger;
+    private RequestLogSampler sampler;
+    private Path file;
+    private final LongAdder events = new LongAdder();
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder());
+        fileAppender.start();
+
+        Appender<ILoggingEvent> root = fileAppender;
+        if (appender.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            root = async;
+        }
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(root);
+        logger = context.getLogger("com.cagatayergunes.library.service.BookService");
+        logger.setLevel(Level.INFO);
+
+        if (sampling) {
+            sampler = new RequestLogSampler(256);
+            sampler.setContext(context);
+            sampler.start();
+            context.addTurboFilter(sampler);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        long lines;
+        try (var stream = Files.lines(file)) {
+            lines = stream.count();
+        }
+        System.out.printf("%n%d of %d INFO events written%n", lines, events.sum());
+        Files.deleteIfExists(file);
+    }
+
+    // A borrow's INFO lines from BookService and Hibernate's session statistics, plus a disabled DEBUG line.
+    @Benchmark
+    public void borrowRequest() {
+        if (sampler != null) {
+            sampler.begin();
+        }
+        long bookId = ThreadLocalRandom.current().nextLong(1, 100_000);
+        logger.info("User attempting to borrow book ID: {}", bookId);
+        logger.debug("Loaded book {} with {} transactions", bookId, 3);
+        logger.info("Book borrowed successfully: bookId={}, user={}", bookId, "patron@example.com");
+        logger.info("Session metrics {} nanoseconds spent acquiring {} JDBC connections; {} nanoseconds spent preparing {} JDBC statements",
+                41_200, 1, 118_600, 4);
+        events.add(3);
+        if (sampler != null) {
+            sampler.end(ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE);
+        }
+    }
+
+    private Encoder<ILoggingEvent> encoder() {
+        if (format.equals("ecs")) {
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setContext(context);
+            encoder.setFormat("ecs");
+            encoder.start();
+            return encoder;
+        }
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,98 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.LibraryManagementSystemApiApplication;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.service.OverdueReportWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class OverdueReportBenchmark {
+
+    @Param({"1", "2", "4"})
+    private int partitionThreads;
+
+    @Param({"500000"})
+    private int rows;
+
+    @Param({"16"})
+    private int partitions;
+
+    private ConfigurableApplicationContext context;
+    private ThreadPoolTaskExecutor executor;
+    private OverdueReportWriter writer;
+    private Path target;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApiApplication.class)
+                .profiles("dev", "test")
+                .properties("server.port=0", "logging.level.com.cagatayergunes.library=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitionThreads);
+        executor.setThreadNamePrefix("bench-partition-");
+        executor.initialize();
+        writer = new OverdueReportWriter(context.getBean(BookTransactionHistoryRepository.class),
+                context.getBean(PlatformTransactionManager.class), executor);
+        ReflectionTestUtils.setField(writer, "partitionSize", (long) Math.ceil((double) rows / partitions));
+        ReflectionTestUtils.setField(writer, "partitionThreads", partitionThreads);
+        target = Files.createTempFile("overdue-benchmark", ".csv");
+        now = LocalDateTime.now();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        context.close();
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public long overdueReport() throws IOException {
+        return writer.write(target, now);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO _user (id, first_name, last_name, email, password, account_locked, enabled, created_date)
+                SELECT 1000000 + "X", 'Patron', CAST("X" AS VARCHAR), 'patron' || "X" || '@bench.local', 'secret', FALSE, TRUE, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 20000)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO book (id, title, author_name, isbn, genre, shareable, created_by, created_date)
+                SELECT 1000000 + "X", 'Book ' || "X", 'Author ' || MOD("X", 500), CAST(9780000000000 + "X" AS VARCHAR),
+                       'Genre ' || MOD("X", 20), TRUE, 1000001, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, 20000)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO book_transaction_history (id, user_id, book_id, borrow_date, due_date, returned, return_approved,
+                                                      created_by, created_date)
+                SELECT 1000000 + "X", 1000001 + MOD("X" * 7, 20000), 1000001 + MOD("X" * 13, 20000),
+                       DATEADD('DAY', -MOD("X", 60) - 14, CURRENT_TIMESTAMP), DATEADD('DAY', -MOD("X", 60), CURRENT_TIMESTAMP),
+                       MOD("X", 5) = 0, FALSE, 1000001, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, rows);
+    }
+}
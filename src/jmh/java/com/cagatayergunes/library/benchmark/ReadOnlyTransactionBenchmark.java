@@ -0,0 +1,116 @@
+package com.cagatayergunes.library.benchmark;
+
+import com.cagatayergunes.library.LibraryManagementSystemApiApplication;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookTransactionHistory;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.mapper.BookMapper;
+import com.cagatayergunes.library.model.response.BorrowedBookResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({"true", "false"})
+    private boolean readOnly;
+
+    @Param({"500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookTransactionHistoryRepository historyRepository;
+    private EntityManager entityManager;
+    private BookMapper bookMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApiApplication.class)
+                .profiles("dev", "test")
+                .properties("server.port=0", "logging.level.com.cagatayergunes.library=WARN")
+                .run();
+        historyRepository = context.getBean(BookTransactionHistoryRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        bookMapper = context.getBean(BookMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        seed(context.getBean(UserRepository.class), context.getBean(BookRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BorrowedBookResponse> historyPage() {
+        return transactionTemplate.execute(status -> entityManager.createQuery("""
+                        SELECT history
+                        FROM BookTransactionHistory history
+                        JOIN FETCH history.book
+                        JOIN FETCH history.user
+                        ORDER BY history.createdDate DESC
+                        """, BookTransactionHistory.class)
+                .setMaxResults(pageSize)
+                .getResultStream()
+                .map(history -> bookMapper.toBorrowedBookResponse(history, 0.0))
+                .toList());
+    }
+
+    private void seed(UserRepository userRepository, BookRepository bookRepository) {
+        List<User> users = userRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> User.builder()
+                        .firstName("Patron" + i)
+                        .lastName("Bench")
+                        .email("patron" + i + "@bench.local")
+                        .password("secret")
+                        .enabled(true)
+                        .build())
+                .toList());
+        Long createdBy = users.get(0).getId();
+        List<Book> books = bookRepository.saveAll(IntStream.range(0, 200)
+                .<Book>mapToObj(i -> Book.builder()
+                        .title("Book " + i)
+                        .authorName("Author " + (i % 40))
+                        .isbn(String.valueOf(9780000000000L + i))
+                        .genre("Genre " + (i % 12))
+                        .shareable(true)
+                        .createdBy(createdBy)
+                        .build())
+                .toList());
+        List<BookTransactionHistory> histories = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < pageSize; i++) {
+            histories.add(BookTransactionHistory.builder()
+                    .user(users.get(i % users.size()))
+                    .book(books.get(i % books.size()))
+                    .borrowDate(now.minusDays(i % 30))
+                    .dueDate(now.minusDays(i % 30).plusWeeks(2))
+                    .createdBy(createdBy)
+                    .build());
+        }
+        historyRepository.saveAll(histories);
+    }
+}
@@ -0,0 +1,87 @@
+package com.cagatayergunes.library.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    // Tomcat's default maximum, the ceiling for concurrent blocking requests on platform threads.
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"false", "true"})
+    private boolean synchronizedDriver;
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"2"})
+    private int blockingMillis;
+
+    private ExecutorService executor;
+    private Object[] connections;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        connections = new Object[requests];
+        for (int i = 0; i < requests; i++) {
+            connections[i] = new Object();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void blockingRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        for (int i = 0; i < requests; i++) {
+            Object connection = connections[i];
+            executor.execute(() -> {
+                try {
+                    query(connection);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    // Stands in for a JDBC or SMTP round trip; a driver that blocks inside synchronized pins the virtual thread.
+    private void query(Object connection) {
+        if (synchronizedDriver) {
+            synchronized (connection) {
+                block();
+            }
+        } else {
+            block();
+        }
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockingMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
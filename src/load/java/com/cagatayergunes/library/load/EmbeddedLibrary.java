@@ -0,0 +1,100 @@
+package com.cagatayergunes.library.load;
+
+import com.cagatayergunes.library.LibraryManagementSystemApiApplication;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class EmbeddedLibrary implements AutoCloseable {
+
+    static final String PASSWORD = "load-password";
+    static final String LIBRARIAN = "load-librarian@example.com";
+    private static final String[] GENRES = {"Fiction", "History", "Science", "Poetry", "Mystery", "Biography"};
+    private static final int SEED_BATCH = 500;
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+    private final List<Long> bookIds = new ArrayList<>();
+
+    EmbeddedLibrary(LoadOptions options) {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApiApplication.class)
+                .profiles(Stream.concat(Stream.of("dev", "load"), options.profiles().stream()).toArray(String[]::new))
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+        seed(options);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    String patron(int index) {
+        return "load-user-" + index + "@example.com";
+    }
+
+    long bookId(int index) {
+        return bookIds.get(index);
+    }
+
+    int bookCount() {
+        return bookIds.size();
+    }
+
+    private void seed(LoadOptions options) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        User librarian = userRepository.save(user(LIBRARIAN, password, roleRepository, RoleName.LIBRARIAN));
+        for (int from = 0; from < options.users(); from += SEED_BATCH) {
+            userRepository.saveAll(IntStream.range(from, Math.min(from + SEED_BATCH, options.users()))
+                    .mapToObj(i -> user(patron(i), password, roleRepository, RoleName.PATRON))
+                    .toList());
+        }
+
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        for (int from = 0; from < options.books(); from += SEED_BATCH) {
+            List<Book> books = IntStream.range(from, Math.min(from + SEED_BATCH, options.books()))
+                    .<Book>mapToObj(i -> Book.builder()
+                            .title("Load Book %05d".formatted(i))
+                            .authorName("Author " + i % 200)
+                            .isbn("978%010d".formatted(i))
+                            .genre(GENRES[i % GENRES.length])
+                            .synopsis("Seeded for load testing.")
+                            .publicationDate(LocalDate.of(1950 + i % 70, 1 + i % 12, 1))
+                            .shareable(true)
+                            .createdBy(librarian.getId())
+                            .build())
+                    .toList();
+            bookRepository.saveAll(books).forEach(book -> bookIds.add(book.getId()));
+        }
+    }
+
+    private User user(String email, String password, RoleRepository roleRepository, RoleName role) {
+        return User.builder()
+                .firstName("Load")
+                .lastName(role.name())
+                .email(email)
+                .password(password)
+                .enabled(true)
+                .roles(List.of(roleRepository.findByName(role).orElseThrow()))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
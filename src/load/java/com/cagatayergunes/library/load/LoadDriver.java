@@ -0,0 +1,69 @@
+package com.cagatayergunes.library.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        int status;
+        try (EmbeddedLibrary library = new EmbeddedLibrary(options)) {
+            status = run(options, library);
+        }
+        System.exit(status);
+    }
+
+    private static int run(LoadOptions options, EmbeddedLibrary library) throws Exception {
+        System.out.printf("Running %d users for %s after %s warmup, mix %s, against %s%s%n",
+                options.users(), options.duration(), options.warmup(), options.mix(), library.baseUrl(),
+                options.profiles().isEmpty() ? "" : " with profiles " + options.profiles());
+
+        LoadRecorder recorder = new LoadRecorder();
+        long deadline = System.nanoTime() + options.warmup().plus(options.duration()).toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            for (int i = 0; i < options.users(); i++) {
+                users.submit(new VirtualUser(i, client, recorder, options, library, deadline));
+            }
+
+            Thread.sleep(options.warmup());
+            recorder.reset();
+            long measuredFrom = System.nanoTime();
+            users.shutdown();
+            users.awaitTermination(options.duration().toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+            LoadResult result = recorder.result(Duration.ofNanos(System.nanoTime() - measuredFrom));
+
+            System.out.println();
+            result.print(System.out);
+            if (options.save() != null) {
+                result.write(options.save());
+                System.out.println("Saved results to " + options.save());
+            }
+            if (options.baseline() != null) {
+                return compare(result, options);
+            }
+        }
+        return 0;
+    }
+
+    private static int compare(LoadResult result, LoadOptions options) throws Exception {
+        System.out.println();
+        System.out.println("Compared with " + options.baseline());
+        List<String> regressions = result.compare(LoadResult.read(options.baseline()), options.tolerance(), System.out);
+        if (regressions.isEmpty()) {
+            System.out.printf("No regressions beyond %.0f%%%n", options.tolerance() * 100);
+            return 0;
+        }
+        System.out.println();
+        regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+        return 1;
+    }
+}
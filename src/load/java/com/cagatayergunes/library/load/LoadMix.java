@@ -0,0 +1,52 @@
+package com.cagatayergunes.library.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+record LoadMix(Map<Scenario, Integer> weights, int total) {
+
+    static final String DEFAULT = "login:5,browse:40,search:25,borrow:15,feedback:15";
+
+    enum Scenario {
+        LOGIN, BROWSE, SEARCH, BORROW, FEEDBACK
+    }
+
+    static LoadMix parse(String value) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(parts[0].toUpperCase()), weight);
+            }
+        }
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix needs at least one scenario with a positive weight");
+        }
+        return new LoadMix(weights, total);
+    }
+
+    Scenario pick(SplittableRandom random) {
+        int ticket = random.nextInt(total);
+        for (Map.Entry<Scenario, Integer> weight : weights.entrySet()) {
+            ticket -= weight.getValue();
+            if (ticket < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + total);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        weights.forEach((scenario, weight) -> builder.append(builder.isEmpty() ? "" : ",")
+                .append(scenario.name().toLowerCase()).append(':').append(weight));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.cagatayergunes.library.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+record LoadOptions(
+        int users,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int books,
+        long seed,
+        LoadMix mix,
+        Path baseline,
+        Path save,
+        double tolerance,
+        List<String> profiles
+) {
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadOptions options = new LoadOptions(
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(values.getOrDefault("think-time", "0ms")),
+                Integer.parseInt(values.getOrDefault("books", "2000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                LoadMix.parse(values.getOrDefault("mix", LoadMix.DEFAULT)),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                values.containsKey("save") ? Path.of(values.get("save")) : null,
+                Double.parseDouble(values.getOrDefault("tolerance", "10")) / 100,
+                values.containsKey("profiles") ? List.of(values.get("profiles").split(",")) : List.of()
+        );
+        if (options.books() < options.users()) {
+            throw new IllegalArgumentException("--books must be at least --users, every user borrows its own book");
+        }
+        return options;
+    }
+}
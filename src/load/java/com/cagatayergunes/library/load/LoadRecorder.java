@@ -0,0 +1,64 @@
+package com.cagatayergunes.library.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class LoadRecorder {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void success(String endpoint, long startNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        endpoint(endpoint).latency.recordValue(Math.min(Math.max(micros, 1), HIGHEST_MICROS));
+    }
+
+    void failure(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    void reset() {
+        endpoints.values().forEach(endpoint -> {
+            endpoint.latency.reset();
+            endpoint.errors.reset();
+        });
+    }
+
+    LoadResult result(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        Map<String, LoadResult.EndpointResult> results = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> {
+            Histogram histogram = endpoint.latency.getIntervalHistogram();
+            results.put(name, new LoadResult.EndpointResult(
+                    histogram.getTotalCount(),
+                    endpoint.errors.sum(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        });
+        return new LoadResult(results);
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final Recorder latency = new Recorder(HIGHEST_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
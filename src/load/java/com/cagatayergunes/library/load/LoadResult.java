@@ -0,0 +1,71 @@
+package com.cagatayergunes.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+record LoadResult(Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record EndpointResult(long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    static LoadResult read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadResult.class);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-46s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, result) -> out.printf("%-46s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, result.requests(), result.errors(), result.throughput(),
+                result.p50Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis()));
+    }
+
+    List<String> compare(LoadResult baseline, double tolerance, PrintStream out) {
+        List<String> regressions = new ArrayList<>();
+        out.printf("%-46s %12s %12s %12s%n", "Endpoint", "Req/s", "p99", "p99.9");
+        endpoints.forEach((name, current) -> {
+            EndpointResult before = baseline.endpoints().get(name);
+            if (before == null) {
+                out.printf("%-46s %12s%n", name, "new");
+                return;
+            }
+            double throughput = change(before.throughput(), current.throughput());
+            double p99 = change(before.p99Millis(), current.p99Millis());
+            double p999 = change(before.p999Millis(), current.p999Millis());
+            out.printf("%-46s %+11.1f%% %+11.1f%% %+11.1f%%%n", name, throughput * 100, p99 * 100, p999 * 100);
+
+            if (throughput < -tolerance) {
+                regressions.add("%s throughput dropped %.1f%%".formatted(name, -throughput * 100));
+            }
+            if (p99 > tolerance) {
+                regressions.add("%s p99 rose %.1f%%".formatted(name, p99 * 100));
+            }
+            if (current.errors() > before.errors()) {
+                regressions.add("%s errors rose from %d to %d".formatted(name, before.errors(), current.errors()));
+            }
+        });
+        return regressions;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before;
+    }
+}
@@ -0,0 +1,137 @@
+package com.cagatayergunes.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+class VirtualUser implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final LoadRecorder recorder;
+    private final LoadOptions options;
+    private final EmbeddedLibrary library;
+    private final String email;
+    private final long ownBookId;
+    private final long deadline;
+    private final SplittableRandom random;
+
+    private String token;
+    private String librarianToken;
+
+    VirtualUser(int index, HttpClient client, LoadRecorder recorder, LoadOptions options, EmbeddedLibrary library, long deadline) {
+        this.client = client;
+        this.recorder = recorder;
+        this.options = options;
+        this.library = library;
+        this.email = library.patron(index);
+        this.ownBookId = library.bookId(index);
+        this.deadline = deadline;
+        this.random = new SplittableRandom(options.seed() + index);
+    }
+
+    @Override
+    public void run() {
+        token = login(email);
+        librarianToken = login(EmbeddedLibrary.LIBRARIAN);
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            switch (options.mix().pick(random)) {
+                case LOGIN -> token = login(email);
+                case BROWSE -> send("GET /books", get(token, "/books?page=" + random.nextInt(20) + "&size=10"));
+                case SEARCH -> send("GET /books/search", get(token, "/books/search?title=Book%20" + random.nextInt(10)
+                        + "&authorName=&isbn=&genre=&size=10"));
+                case BORROW -> borrowCycle();
+                case FEEDBACK -> send("POST /feedback", post(token, "/feedback", """
+                        {"note": %d, "comment": "Load test review", "bookId": %d}"""
+                        .formatted(random.nextInt(1, 6), library.bookId(random.nextInt(library.bookCount())))));
+            }
+            think();
+        }
+    }
+
+    private void borrowCycle() {
+        String path = "/books/borrow/" + ownBookId;
+        if (send("POST /books/borrow/{book_id}", post(token, path, "")) != null
+                && send("PATCH /books/borrow/return/{book_id}", patch(token, "/books/borrow/return/" + ownBookId)) != null) {
+            send("PATCH /books/borrow/return/approve/{book_id}", patch(librarianToken, "/books/borrow/return/approve/" + ownBookId));
+        }
+    }
+
+    private String login(String user) {
+        String body = send("POST /auth/authenticate", HttpRequest.newBuilder(uri("/auth/authenticate"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "%s", "password": "%s"}""".formatted(user, EmbeddedLibrary.PASSWORD)))
+                .build());
+        if (body == null) {
+            throw new IllegalStateException("Login failed for " + user);
+        }
+        try {
+            return MAPPER.readTree(body).get("token").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected login response: " + body, e);
+        }
+    }
+
+    private String send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                recorder.success(endpoint, start);
+                return response.body();
+            }
+        } catch (IOException e) {
+            // counted as a failure below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recorder.failure(endpoint);
+        return null;
+    }
+
+    private HttpRequest get(String bearer, String path) {
+        return authorized(bearer, path).GET().build();
+    }
+
+    private HttpRequest post(String bearer, String path, String json) {
+        return authorized(bearer, path)
+                .header("Content-Type", "application/json")
+                .POST(json.isEmpty() ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest patch(String bearer, String path) {
+        return authorized(bearer, path).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder authorized(String bearer, String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + bearer);
+    }
+
+    private URI uri(String path) {
+        return URI.create(library.baseUrl() + path);
+    }
+
+    private void think() {
+        if (options.thinkTime().isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(options.thinkTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
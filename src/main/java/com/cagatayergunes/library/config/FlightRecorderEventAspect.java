@@ -0,0 +1,111 @@
+package com.cagatayergunes.library.config;
+
+import com.cagatayergunes.library.jfr.ApproveReturnEvent;
+import com.cagatayergunes.library.jfr.BookOperationEvent;
+import com.cagatayergunes.library.jfr.BookSearchEvent;
+import com.cagatayergunes.library.jfr.BorrowBookEvent;
+import com.cagatayergunes.library.jfr.ReturnBookEvent;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.response.PageResponse;
+import jdk.jfr.Event;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+@Aspect
+@Component
+public class FlightRecorderEventAspect {
+
+    static final String SUCCESS = "success";
+
+    @Around("execution(public * com.cagatayergunes.library.service.BookService.borrowBook(..))"
+            + " || execution(public * com.cagatayergunes.library.service.ReactiveBookService.borrowBook(..))")
+    public Object borrow(ProceedingJoinPoint joinPoint) throws Throwable {
+        return recordBookOperation(joinPoint, new BorrowBookEvent());
+    }
+
+    @Around("execution(public * com.cagatayergunes.library.service.BookService.returnBorrowedBook(..))"
+            + " || execution(public * com.cagatayergunes.library.service.ReactiveBookService.returnBorrowedBook(..))")
+    public Object returnBook(ProceedingJoinPoint joinPoint) throws Throwable {
+        return recordBookOperation(joinPoint, new ReturnBookEvent());
+    }
+
+    @Around("execution(public * com.cagatayergunes.library.service.BookService.approveReturnBorrowedBook(..))"
+            + " || execution(public * com.cagatayergunes.library.service.ReactiveBookService.approveReturnBorrowedBook(..))")
+    public Object approveReturn(ProceedingJoinPoint joinPoint) throws Throwable {
+        return recordBookOperation(joinPoint, new ApproveReturnEvent());
+    }
+
+    @Around("execution(public * com.cagatayergunes.library.service.BookService.searchBooks(..))")
+    public Object search(ProceedingJoinPoint joinPoint) throws Throwable {
+        BookSearchEvent event = new BookSearchEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        event.setPage((Integer) args[0]);
+        event.setSize((Integer) args[1]);
+        event.setTitle((String) args[2]);
+        event.setAuthorName((String) args[3]);
+        event.setIsbn((String) args[4]);
+        event.setGenre((String) args[5]);
+        return record(joinPoint, event, (result, outcome) -> {
+            if (result instanceof PageResponse<?> page && page.getTotalElements() != null) {
+                event.setMatches(page.getTotalElements());
+            }
+            event.setOutcome(outcome);
+        });
+    }
+
+    private Object recordBookOperation(ProceedingJoinPoint joinPoint, BookOperationEvent event) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        event.setBookId(args[0] instanceof Long bookId ? bookId : 0);
+        event.setUserId(userId(args));
+        return record(joinPoint, event, (result, outcome) -> event.setOutcome(outcome));
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, Event event, BiConsumer<Object, String> complete) throws Throwable {
+        event.begin();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            commit(event, complete, null, e.getClass().getSimpleName());
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return mono
+                    .doOnSuccess(value -> commit(event, complete, value, SUCCESS))
+                    .doOnError(e -> commit(event, complete, null, e.getClass().getSimpleName()))
+                    .doOnCancel(() -> commit(event, complete, null, "cancelled"));
+        }
+        commit(event, complete, result, SUCCESS);
+        return result;
+    }
+
+    private void commit(Event event, BiConsumer<Object, String> complete, Object result, String outcome) {
+        complete.accept(result, outcome);
+        event.commit();
+    }
+
+    private long userId(Object[] args) {
+        Authentication authentication = Arrays.stream(args)
+                .filter(Authentication.class::isInstance)
+                .map(Authentication.class::cast)
+                .findFirst()
+                .orElseGet(() -> SecurityContextHolder.getContext().getAuthentication());
+        return authentication != null && authentication.getPrincipal() instanceof User user && user.getId() != null
+                ? user.getId()
+                : 0;
+    }
+}
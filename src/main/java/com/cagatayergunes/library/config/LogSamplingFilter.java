@@ -0,0 +1,108 @@
+package com.cagatayergunes.library.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LogSamplingFilter extends OncePerRequestFilter {
+
+    static final String METHOD_KEY = "http.request.method";
+    static final String PATH_KEY = "url.path";
+
+    @Value("${application.logging.sampling.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.logging.sampling.default-rate:1.0}")
+    private double defaultRate;
+
+    @Value("${application.logging.sampling.endpoint-rates:}")
+    private List<String> endpointRates;
+
+    @Value("${application.logging.sampling.buffer-size:256}")
+    private int bufferSize;
+
+    private final Map<String, Double> rates = new HashMap<>();
+    private LoggerContext loggerContext;
+    private RequestLogSampler sampler;
+
+    @PostConstruct
+    void install() {
+        if (!enabled) {
+            return;
+        }
+        for (String endpointRate : endpointRates) {
+            int separator = endpointRate.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected 'METHOD /pattern=rate' but got " + endpointRate);
+            }
+            rates.put(endpointRate.substring(0, separator).trim(), Double.parseDouble(endpointRate.substring(separator + 1)));
+        }
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        sampler = new RequestLogSampler(bufferSize);
+        sampler.setName("request-log-sampler");
+        sampler.setContext(loggerContext);
+        sampler.start();
+        loggerContext.addTurboFilter(sampler);
+        log.info("Sampling successful request logs at {}, endpoint rates {}", defaultRate, rates);
+    }
+
+    @PreDestroy
+    void uninstall() {
+        if (sampler != null) {
+            loggerContext.getTurboFilterList().remove(sampler);
+            sampler.stop();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return sampler == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        MDC.put(METHOD_KEY, request.getMethod());
+        MDC.put(PATH_KEY, request.getRequestURI());
+        sampler.begin();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            sampler.end(failed || response.getStatus() >= 400 || sampled(SqlStatementBudgetFilter.endpoint(request)));
+            MDC.remove(METHOD_KEY);
+            MDC.remove(PATH_KEY);
+        }
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = rates.getOrDefault(endpoint, defaultRate);
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
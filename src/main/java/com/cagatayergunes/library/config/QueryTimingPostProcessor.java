@@ -0,0 +1,40 @@
+package com.cagatayergunes.library.config;
+
+import com.cagatayergunes.library.service.QueryStatisticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class QueryTimingPostProcessor implements BeanPostProcessor {
+
+    private final Supplier<QueryStatisticsService> statistics;
+    private final boolean enabled;
+
+    // The statistics service is resolved on first use, so the meter registry is not created before it is configured.
+    public QueryTimingPostProcessor(
+            ObjectProvider<QueryStatisticsService> statistics,
+            @Value("${application.sql-monitor.enabled:true}") boolean enabled
+    ) {
+        this.statistics = SingletonSupplier.of(statistics::getObject);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        log.info("Timing SQL statements of data source '{}'", beanName);
+        return TimedDataSource.wrap(dataSource, (sql, parameters, batchSize, nanos, failed) ->
+                statistics.get().record(sql, parameters, batchSize, nanos, failed));
+    }
+}
@@ -0,0 +1,80 @@
+package com.cagatayergunes.library.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Holds back INFO and below while a request runs; nothing is formatted unless the request is kept.
+public class RequestLogSampler extends TurboFilter {
+
+    private static final String FQCN = Logger.class.getName();
+
+    private final ThreadLocal<Buffer> buffers = new ThreadLocal<>();
+    private final int capacity;
+
+    public RequestLogSampler(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void begin() {
+        buffers.set(new Buffer());
+    }
+
+    public int end(boolean keep) {
+        Buffer buffer = buffers.get();
+        buffers.remove();
+        if (buffer == null) {
+            return 0;
+        }
+        if (keep) {
+            buffer.replay();
+        }
+        return buffer.entries.size() + buffer.overflow;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        Buffer buffer = buffers.get();
+        if (buffer == null || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (buffer.entries.size() < capacity) {
+            LoggingEvent event = new LoggingEvent(FQCN, logger, level, format, t, params);
+            if (marker != null) {
+                event.addMarker(marker);
+            }
+            buffer.entries.add(new Entry(logger, event));
+        } else {
+            buffer.overflow++;
+        }
+        return FilterReply.DENY;
+    }
+
+    private record Entry(Logger logger, LoggingEvent event) {
+    }
+
+    private final class Buffer {
+
+        private final List<Entry> entries = new ArrayList<>();
+        private int overflow;
+
+        private void replay() {
+            for (Entry entry : entries) {
+                entry.logger().callAppenders(entry.event());
+            }
+            if (overflow > 0) {
+                Logger logger = entries.get(entries.size() - 1).logger();
+                logger.callAppenders(new LoggingEvent(FQCN, logger, Level.INFO,
+                        "{} more log events of this request did not fit the {}-event sampling buffer",
+                        null, new Object[]{overflow, capacity}));
+            }
+        }
+    }
+}
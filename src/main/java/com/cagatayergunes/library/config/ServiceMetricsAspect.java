@@ -0,0 +1,70 @@
+package com.cagatayergunes.library.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "library.service";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.cagatayergunes.library.service.BookService.*(..))"
+            + " || execution(public * com.cagatayergunes.library.service.ReactiveBookService.*(..))"
+            + " || execution(public * com.cagatayergunes.library.service.FeedbackService.*(..))"
+            + " || execution(public * com.cagatayergunes.library.service.UserService.*(..))"
+            + " || execution(public * com.cagatayergunes.library.service.AuthenticationService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            sample.stop(timer(method, e.getClass().getSimpleName()));
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return mono
+                    .doOnSuccess(value -> sample.stop(timer(method, NONE)))
+                    .doOnError(e -> sample.stop(timer(method, e.getClass().getSimpleName())))
+                    .doOnCancel(() -> sample.stop(timer(method, "cancelled")));
+        }
+        sample.stop(timer(method, NONE));
+        return result;
+    }
+
+    private Timer timer(Method method, String exception) {
+        if (NONE.equals(exception)) {
+            return successTimers.computeIfAbsent(method, key -> register(key, NONE));
+        }
+        return register(method, exception);
+    }
+
+    private Timer register(Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent in service methods")
+                .tags(Tags.of(
+                        "class", method.getDeclaringClass().getSimpleName(),
+                        "method", method.getName(),
+                        "exception", exception))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cagatayergunes.library.config;
+
+import com.cagatayergunes.library.exception.handler.SqlStatementBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementBudgetFilter.class.getName() + ".statementCount";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.sql-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.sql-budget.max-statements:25}")
+    private int maxStatements;
+
+    @Value("${application.sql-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        counter.start();
+        SqlStatementCounter.Result result;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            result = counter.stop();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, result.count());
+        }
+
+        String endpoint = endpoint(request);
+        DistributionSummary.builder("library.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(result.count());
+
+        if (result.count() > maxStatements) {
+            String message = "%s executed %d SQL statements (budget %d)".formatted(endpoint, result.count(), maxStatements);
+            result.mostRepeated().ifPresentOrElse(
+                    statement -> log.warn("{}, most repeated {}x: {}", message, statement.getValue(), statement.getKey()),
+                    () -> log.warn(message));
+            if (failOnExceed) {
+                throw new SqlStatementBudgetExceededException(message);
+            }
+        }
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "UNMAPPED" : pattern);
+    }
+}
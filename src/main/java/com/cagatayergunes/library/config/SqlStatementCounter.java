@@ -0,0 +1,55 @@
+package com.cagatayergunes.library.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = current.get();
+        if (recording != null) {
+            recording.count++;
+            recording.statements.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    public void start() {
+        current.set(new Recording());
+    }
+
+    public Result stop() {
+        Recording recording = current.get();
+        current.remove();
+        if (recording == null) {
+            return new Result(0, Optional.empty());
+        }
+        Optional<Map.Entry<String, Integer>> mostRepeated = recording.statements.entrySet().stream()
+                .max(Comparator.comparingInt(Map.Entry::getValue));
+        return new Result(recording.count, mostRepeated);
+    }
+
+    public record Result(int count, Optional<Map.Entry<String, Integer>> mostRepeated) {
+    }
+
+    private static final class Recording {
+        private int count;
+        private final Map<String, Integer> statements = new HashMap<>();
+    }
+}
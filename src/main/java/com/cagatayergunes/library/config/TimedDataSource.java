@@ -0,0 +1,127 @@
+package com.cagatayergunes.library.config;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+final class TimedDataSource {
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    @FunctionalInterface
+    interface StatementListener {
+        void executed(String sql, Object[] parameters, int batchSize, long nanos, boolean failed);
+    }
+
+    private TimedDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, StatementListener listener) {
+        return proxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            return result instanceof Connection connection ? connection(connection, listener) : result;
+        });
+    }
+
+    private static Connection connection(Connection connection, StatementListener listener) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (result) {
+                case CallableStatement statement -> statement(CallableStatement.class, statement, (String) args[0], listener);
+                case PreparedStatement statement -> statement(PreparedStatement.class, statement, (String) args[0], listener);
+                case Statement statement -> statement(Statement.class, statement, null, listener);
+                case null, default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T statement, String sql, StatementListener listener) {
+        BoundStatement bound = new BoundStatement(sql);
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(statement, method, args, bound, listener);
+            }
+            Object result = invoke(statement, method, args);
+            if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+                bound.bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("addBatch")) {
+                bound.batchSize++;
+                if (bound.sql == null && args != null) {
+                    bound.sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                bound.batchSize = 0;
+            } else if (name.equals("clearParameters")) {
+                bound.parameters = NO_PARAMETERS;
+            }
+            return result;
+        });
+    }
+
+    private static Object execute(Statement statement, Method method, Object[] args, BoundStatement bound,
+                                  StatementListener listener) throws Throwable {
+        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : bound.sql;
+        boolean batch = method.getName().startsWith("executeBatch") || method.getName().startsWith("executeLargeBatch");
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            Object result = invoke(statement, method, args);
+            failed = false;
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (sql != null) {
+                listener.executed(sql, bound.parameters, batch ? bound.batchSize : 1, nanos, failed);
+            }
+            if (batch) {
+                bound.batchSize = 0;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> args[0] == proxy;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Timed" + target;
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Parameters of the statement's last execution or last batched row; index 0 holds the first '?'.
+    private static final class BoundStatement {
+
+        private String sql;
+        private Object[] parameters = NO_PARAMETERS;
+        private int batchSize;
+
+        private BoundStatement(String sql) {
+            this.sql = sql;
+        }
+
+        private void bind(int index, Object value) {
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, index);
+            }
+            parameters[index - 1] = value;
+        }
+    }
+}
@@ -1,33 +1,54 @@
 package com.cagatayergunes.library.controller;
 
 import com.cagatayergunes.library.model.request.BookRequest;
+import com.cagatayergunes.library.model.request.BulkBookRequest;
+import com.cagatayergunes.library.model.response.BookChangesResponse;
 import com.cagatayergunes.library.model.response.BookResponse;
 import com.cagatayergunes.library.model.response.BorrowedBookResponse;
+import com.cagatayergunes.library.model.response.BulkUpdateResponse;
+import com.cagatayergunes.library.model.response.CoverImageResponse;
+import com.cagatayergunes.library.model.response.EbookResponse;
 import com.cagatayergunes.library.model.response.PageResponse;
+import com.cagatayergunes.library.service.BookBulkService;
 import com.cagatayergunes.library.service.BookService;
+import com.cagatayergunes.library.service.CoverImageService;
+import com.cagatayergunes.library.service.EbookDownload;
+import com.cagatayergunes.library.service.EbookService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
+@Validated
 @RequestMapping("books")
 @RequiredArgsConstructor
 @Tag(name = "Book")
 public class BookController {
 
     private final BookService service;
+    private final CoverImageService coverImageService;
+    private final EbookService ebookService;
+    private final BookBulkService bulkService;
 
     @PreAuthorize("hasAuthority('LIBRARIAN')")
     @PostMapping
@@ -51,6 +72,40 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
 
+    @PreAuthorize("hasAuthority('LIBRARIAN')")
+    @PutMapping(value = "/{book-id}/cover", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CoverImageResponse> uploadCover(
+            @PathVariable("book-id") Long bookId,
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        return ResponseEntity.ok(coverImageService.upload(bookId, file));
+    }
+
+    @PreAuthorize("hasAuthority('LIBRARIAN')")
+    @PutMapping(value = "/{book-id}/ebook", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EbookResponse> uploadEbook(
+            @PathVariable("book-id") Long bookId,
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        return ResponseEntity.ok(ebookService.upload(bookId, file));
+    }
+
+    @GetMapping("/{book-id}/ebook")
+    public void downloadEbook(
+            @PathVariable("book-id") Long bookId,
+            Authentication connectedUser,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        try (EbookDownload download = ebookService.openDownload(bookId, connectedUser)) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(download.getFileName(), StandardCharsets.UTF_8)
+                    .build()
+                    .toString());
+            FileResponses.send(request, response, download.getFile(), FileResponses.PRIVATE, false);
+        }
+    }
+
     @GetMapping("{book-id}")
     public ResponseEntity<BookResponse> findBookById(
             @PathVariable("book-id") Long bookId
@@ -60,16 +115,24 @@ public class BookController {
 
     @GetMapping
     public ResponseEntity<PageResponse<BookResponse>> findAllBooks(
-            @RequestParam(name = "page", defaultValue = "0", required = false) int page,
-            @RequestParam(name = "size", defaultValue = "10", required = false) int size
+            @RequestParam(name = "page", defaultValue = "0", required = false) @Min(0) int page,
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(1) @Max(500) int size
     ){
         return ResponseEntity.ok(service.findAllBooks(page, size));
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<BookChangesResponse> findBookChanges(
+            @RequestParam(name = "since", defaultValue = "0", required = false) long since,
+            @RequestParam(name = "size", defaultValue = "500", required = false) @Min(1) @Max(1000) int size
+    ) {
+        return ResponseEntity.ok(service.findChanges(since, size));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<PageResponse<BookResponse>> searchBooks(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(500) int size,
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String authorName,
             @RequestParam(required = false) String isbn,
@@ -81,8 +144,8 @@ public class BookController {
 
     @GetMapping("/borrowed")
     public ResponseEntity<PageResponse<BorrowedBookResponse>> findAllBorrowedBooks(
-            @RequestParam(name = "page", defaultValue = "0", required = false) int page,
-            @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "page", defaultValue = "0", required = false) @Min(0) int page,
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(1) @Max(500) int size,
             Authentication connectedUser
     ){
         return ResponseEntity.ok(service.findAllBorrowedBooks(page, size, connectedUser));
@@ -90,8 +153,8 @@ public class BookController {
 
     @GetMapping("/returned")
     public ResponseEntity<PageResponse<BorrowedBookResponse>> findAllReturnedBooks(
-            @RequestParam(name = "page", defaultValue = "0", required = false) int page,
-            @RequestParam(name = "size", defaultValue = "10", required = false) int size,
+            @RequestParam(name = "page", defaultValue = "0", required = false) @Min(0) int page,
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(1) @Max(500) int size,
             Authentication connectedUser
     ){
         return ResponseEntity.ok(service.findAllReturnedBooks(page, size, connectedUser));
@@ -105,6 +168,33 @@ public class BookController {
         return ResponseEntity.ok(service.updateShareableStatus(bookId));
     }
 
+    @PatchMapping("/bulk/shareable")
+    @PreAuthorize("hasAuthority('LIBRARIAN')")
+    public ResponseEntity<BulkUpdateResponse> toggleShareableInBulk(
+            @RequestBody BulkBookRequest request,
+            Authentication connectedUser
+    ) {
+        return ResponseEntity.ok(bulkService.toggleShareable(request, connectedUser));
+    }
+
+    @PatchMapping("/bulk/withdraw")
+    @PreAuthorize("hasAuthority('LIBRARIAN')")
+    public ResponseEntity<BulkUpdateResponse> withdrawInBulk(
+            @RequestBody BulkBookRequest request,
+            Authentication connectedUser
+    ) {
+        return ResponseEntity.ok(bulkService.withdraw(request, connectedUser));
+    }
+
+    @PatchMapping("/bulk/genre")
+    @PreAuthorize("hasAuthority('LIBRARIAN')")
+    public ResponseEntity<BulkUpdateResponse> retagInBulk(
+            @RequestBody BulkBookRequest request,
+            Authentication connectedUser
+    ) {
+        return ResponseEntity.ok(bulkService.retag(request, connectedUser));
+    }
+
     @PostMapping("/borrow/{book_id}")
     public ResponseEntity<BorrowedBookResponse> borrowBook(
             @PathVariable("book_id") Long bookId,
@@ -0,0 +1,32 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.response.CacheRegionStatisticsResponse;
+import com.cagatayergunes.library.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("cache-statistics")
+@RequiredArgsConstructor
+@Tag(name = "Cache Statistics")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService service;
+
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatisticsResponse>> getRegionStatistics() {
+        return ResponseEntity.ok(service.getRegionStatistics());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearStatistics() {
+        service.clearStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.service.CoverImageService;
+import com.cagatayergunes.library.service.StoredFile;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("covers")
+@RequiredArgsConstructor
+@Tag(name = "Cover Image")
+public class CoverImageController {
+
+    private final CoverImageService service;
+
+    @GetMapping("/{hash}")
+    public void getCover(
+            @PathVariable String hash,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        send(service.getCover(hash, false), request, response);
+    }
+
+    @GetMapping("/{hash}/thumbnail")
+    public void getThumbnail(
+            @PathVariable String hash,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        send(service.getCover(hash, true), request, response);
+    }
+
+    private void send(StoredFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        FileResponses.send(request, response, file, file.immutable() ? FileResponses.IMMUTABLE : FileResponses.REVALIDATE);
+    }
+}
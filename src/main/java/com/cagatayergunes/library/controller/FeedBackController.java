@@ -6,12 +6,16 @@ import com.cagatayergunes.library.model.response.PageResponse;
 import com.cagatayergunes.library.service.FeedbackService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.apache.tomcat.util.net.openssl.ciphers.Authentication;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Validated
 @RequestMapping("feedback")
 @RequiredArgsConstructor
 @Tag(name = "feedback")
@@ -30,8 +34,8 @@ public class FeedBackController {
     @GetMapping("/book/{book-id}")
     public ResponseEntity<PageResponse<FeedbackResponse>> findAllFeedbackByBook(
             @PathVariable("book-id") Long bookId,
-            @RequestParam(name = "page",defaultValue = "0", required = false) int page,
-            @RequestParam(name = "size", defaultValue = "10", required = false) int size
+            @RequestParam(name = "page",defaultValue = "0", required = false) @Min(0) int page,
+            @RequestParam(name = "size", defaultValue = "10", required = false) @Min(1) @Max(500) int size
     ){
         return ResponseEntity.ok(service.findAllFeedbackByBook(bookId, page, size));
     }
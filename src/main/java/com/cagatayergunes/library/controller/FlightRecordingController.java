@@ -0,0 +1,61 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.request.FlightRecordingRequest;
+import com.cagatayergunes.library.model.response.FlightRecordingResponse;
+import com.cagatayergunes.library.service.FlightRecorderService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("flight-recordings")
+@RequiredArgsConstructor
+@Tag(name = "Flight Recordings")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class FlightRecordingController {
+
+    private final FlightRecorderService service;
+
+    @PostMapping
+    public ResponseEntity<FlightRecordingResponse> startRecording(
+            @Valid @RequestBody FlightRecordingRequest request
+    ) {
+        return ResponseEntity.ok(service.start(request));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<FlightRecordingResponse>> getRecordings() {
+        return ResponseEntity.ok(service.getRecordings());
+    }
+
+    @PostMapping("/{recording-id}/stop")
+    public ResponseEntity<Resource> stopRecording(
+            @PathVariable("recording-id") Long recordingId
+    ) {
+        Resource recording = service.stop(recordingId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("recording-" + recordingId + ".jfr")
+                        .build()
+                        .toString())
+                .body(recording);
+    }
+
+    @DeleteMapping("/{recording-id}")
+    public ResponseEntity<Void> discardRecording(
+            @PathVariable("recording-id") Long recordingId
+    ) {
+        service.discard(recordingId);
+        return ResponseEntity.noContent().build();
+    }
+}
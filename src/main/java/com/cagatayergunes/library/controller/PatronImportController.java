@@ -0,0 +1,48 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.PatronImportFormat;
+import com.cagatayergunes.library.model.response.PatronImportResponse;
+import com.cagatayergunes.library.service.PatronImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("patron-imports")
+@RequiredArgsConstructor
+@Tag(name = "Patron Import")
+@PreAuthorize("hasAnyAuthority('LIBRARIAN', 'ADMIN')")
+public class PatronImportController {
+
+    private final PatronImportService service;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PatronImportResponse> submitImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(name = "format", required = false) PatronImportFormat format,
+            Authentication connectedUser
+    ) throws IOException {
+        return ResponseEntity.accepted().body(service.submit(file, format, connectedUser));
+    }
+
+    @GetMapping("/{import-id}")
+    public ResponseEntity<PatronImportResponse> getImport(
+            @PathVariable("import-id") Long importId
+    ) {
+        return ResponseEntity.ok(service.getImport(importId));
+    }
+
+    @PostMapping("/{import-id}/resume")
+    public ResponseEntity<PatronImportResponse> resumeImport(
+            @PathVariable("import-id") Long importId
+    ) {
+        return ResponseEntity.accepted().body(service.resume(importId));
+    }
+}
@@ -0,0 +1,35 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.response.QueryShapeStatisticsResponse;
+import com.cagatayergunes.library.service.QueryStatisticsService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("query-statistics")
+@RequiredArgsConstructor
+@Tag(name = "Query Statistics")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class QueryStatisticsController {
+
+    private final QueryStatisticsService service;
+
+    @GetMapping
+    public ResponseEntity<List<QueryShapeStatisticsResponse>> getSlowestQueries(
+            @RequestParam(name = "limit", defaultValue = "10", required = false) int limit,
+            @RequestParam(name = "order-by", defaultValue = "p99", required = false) String orderBy
+    ) {
+        return ResponseEntity.ok(service.getSlowestQueries(limit, orderBy));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearQueryStatistics() {
+        service.clearQueryStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
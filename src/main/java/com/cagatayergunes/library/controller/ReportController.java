@@ -0,0 +1,59 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.ReportJobStatus;
+import com.cagatayergunes.library.model.request.ReportRequest;
+import com.cagatayergunes.library.model.response.ReportJobResponse;
+import com.cagatayergunes.library.service.ReportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("reports")
+@RequiredArgsConstructor
+@Tag(name = "Report")
+@PreAuthorize("hasAnyAuthority('LIBRARIAN', 'ADMIN')")
+public class ReportController {
+
+    private final ReportService service;
+
+    @PostMapping
+    public ResponseEntity<ReportJobResponse> submitReport(
+            @Valid @RequestBody ReportRequest request,
+            Authentication connectedUser
+    ) {
+        ReportJobResponse response = service.submit(request, connectedUser);
+        return response.getStatus() == ReportJobStatus.COMPLETED
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/{report-id}")
+    public ResponseEntity<ReportJobResponse> getReport(
+            @PathVariable("report-id") Long reportId
+    ) {
+        return ResponseEntity.ok(service.getReport(reportId));
+    }
+
+    @GetMapping("/{report-id}/download")
+    public ResponseEntity<Resource> downloadReport(
+            @PathVariable("report-id") Long reportId
+    ) {
+        Resource result = service.getReportResult(reportId);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("report-" + reportId + ".csv")
+                        .build()
+                        .toString())
+                .body(result);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.model.response.PinnedThreadSiteResponse;
+import com.cagatayergunes.library.service.VirtualThreadPinningService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("thread-pinning")
+@RequiredArgsConstructor
+@Tag(name = "Thread Pinning")
+@PreAuthorize("hasAuthority('ADMIN')")
+public class ThreadPinningController {
+
+    private final VirtualThreadPinningService service;
+
+    @GetMapping
+    public ResponseEntity<List<PinnedThreadSiteResponse>> getPinnedSites() {
+        return ResponseEntity.ok(service.getPinnedSites());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearPinnedSites() {
+        service.clearPinnedSites();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,17 +2,20 @@ package com.cagatayergunes.library.controller;
 
 import com.cagatayergunes.library.model.request.UpdateRoleRequest;
 import com.cagatayergunes.library.model.request.UserRequest;
+import com.cagatayergunes.library.model.response.CursorPageResponse;
 import com.cagatayergunes.library.model.response.UserResponse;
 import com.cagatayergunes.library.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
+@Validated
 @RequestMapping("user")
 @RequiredArgsConstructor
 @Tag(name = "User")
@@ -28,8 +31,12 @@ public class UserController {
 
     @PreAuthorize("hasAuthority('LIBRARIAN')")
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(service.getAllUsers());
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsers(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", defaultValue = "50", required = false) @Min(1) @Max(500) int size,
+            @RequestParam(name = "search", required = false) String search
+    ) {
+        return ResponseEntity.ok(service.getUserDirectory(cursor, size, search));
     }
 
     @PreAuthorize("hasAuthority('LIBRARIAN')")
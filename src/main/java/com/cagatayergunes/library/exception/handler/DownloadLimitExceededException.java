@@ -0,0 +1,8 @@
+package com.cagatayergunes.library.exception.handler;
+
+public class DownloadLimitExceededException extends RuntimeException{
+
+    public DownloadLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.cagatayergunes.library.exception.handler;
 import com.cagatayergunes.library.exception.ExceptionResponse;
 import jakarta.mail.MessagingException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -96,6 +97,20 @@ public class GlobalExceptionHandler {
                 );
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ExceptionResponse> handleException(ConstraintViolationException exp){
+        Set<String> errors = new HashSet<>();
+        exp.getConstraintViolations()
+                .forEach(violation -> errors.add(violation.getPropertyPath() + " " + violation.getMessage()));
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(
+                        ExceptionResponse.builder()
+                                .validationErrors(errors)
+                                .build()
+                );
+    }
+
     @ExceptionHandler(OperationNotPermittedException.class)
     public ResponseEntity<ExceptionResponse> handleException(OperationNotPermittedException exp){
         return ResponseEntity
@@ -107,6 +122,17 @@ public class GlobalExceptionHandler {
                 );
     }
 
+    @ExceptionHandler(DownloadLimitExceededException.class)
+    public ResponseEntity<ExceptionResponse> handleException(DownloadLimitExceededException exp){
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(
+                        ExceptionResponse.builder()
+                                .error(exp.getMessage())
+                                .build()
+                );
+    }
+
     @ExceptionHandler(AuthorizationDeniedException.class)
     public ResponseEntity<ExceptionResponse> handleException(AuthorizationDeniedException exp){
         return ResponseEntity
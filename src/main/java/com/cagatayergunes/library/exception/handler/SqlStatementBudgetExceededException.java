@@ -0,0 +1,8 @@
+package com.cagatayergunes.library.exception.handler;
+
+public class SqlStatementBudgetExceededException extends RuntimeException{
+
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
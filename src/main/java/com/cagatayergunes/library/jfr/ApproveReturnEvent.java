@@ -0,0 +1,11 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cagatayergunes.library.ApproveReturn")
+@Label("Approve Return")
+@Description("A librarian approves the return of a book")
+public class ApproveReturnEvent extends BookOperationEvent {
+}
@@ -0,0 +1,22 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import lombok.Setter;
+
+@Setter
+@Category({"Library", "Books"})
+public abstract class BookOperationEvent extends Event {
+
+    // JFR only records superclass fields that are not private.
+
+    @Label("Book Id")
+    protected long bookId;
+
+    @Label("User Id")
+    protected long userId;
+
+    @Label("Outcome")
+    protected String outcome;
+}
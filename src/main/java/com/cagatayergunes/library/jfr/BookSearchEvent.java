@@ -0,0 +1,36 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Setter
+@Name("com.cagatayergunes.library.BookSearch")
+@Label("Book Search")
+@Description("A search over the book catalogue")
+@Category({"Library", "Books"})
+public class BookSearchEvent extends Event {
+
+    @Label("Title")
+    private String title;
+
+    @Label("Author")
+    private String authorName;
+
+    @Label("ISBN")
+    private String isbn;
+
+    @Label("Genre")
+    private String genre;
+
+    @Label("Page")
+    private int page;
+
+    @Label("Page Size")
+    private int size;
+
+    @Label("Matches")
+    private long matches;
+
+    @Label("Outcome")
+    private String outcome;
+}
@@ -0,0 +1,11 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cagatayergunes.library.BorrowBook")
+@Label("Borrow Book")
+@Description("A patron borrows a book")
+public class BorrowBookEvent extends BookOperationEvent {
+}
@@ -0,0 +1,24 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Setter
+@Name("com.cagatayergunes.library.EmailDispatch")
+@Label("Email Dispatch")
+@Description("Sending one batch of queued emails from the outbox")
+@Category({"Library", "Email"})
+public class EmailDispatchEvent extends Event {
+
+    @Label("First Outbox Id")
+    private long firstOutboxId;
+
+    @Label("Queued")
+    private int queued;
+
+    @Label("Sent")
+    private int sent;
+
+    @Label("Failed")
+    private int failed;
+}
@@ -0,0 +1,18 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Setter
+@Name("com.cagatayergunes.library.JwtValidation")
+@Label("JWT Validation")
+@Description("Parsing and validating the bearer token of a request")
+@Category({"Library", "Security"})
+public class JwtValidationEvent extends Event {
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Outcome")
+    private String outcome;
+}
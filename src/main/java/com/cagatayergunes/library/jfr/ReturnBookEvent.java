@@ -0,0 +1,11 @@
+package com.cagatayergunes.library.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.cagatayergunes.library.ReturnBook")
+@Label("Return Book")
+@Description("A patron returns a borrowed book")
+public class ReturnBookEvent extends BookOperationEvent {
+}
@@ -1,5 +1,6 @@
 package com.cagatayergunes.library.model;
 
+import com.cagatayergunes.library.model.id.EntityId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,7 +25,7 @@ import java.time.LocalDateTime;
 public class BaseEntity {
 
     @Id
-    @GeneratedValue
+    @EntityId
     private Long id;
 
     @CreatedDate
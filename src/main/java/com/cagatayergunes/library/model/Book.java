@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,6 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Book extends BaseEntity{
     private String title;
     private String authorName;
@@ -26,6 +30,14 @@ public class Book extends BaseEntity{
     private LocalDate publicationDate;
     private boolean shareable;
 
+    @Column(length = 64)
+    private String coverImage;
+
+    @Column(length = 64)
+    private String ebookFile;
+
+    private LocalDateTime deletedAt;
+
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Feedback> feedbacks;
 
@@ -44,6 +56,11 @@ public class Book extends BaseEntity{
                 .orElse(0.0);
     }
 
+    @Transient
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     @Transient
     public boolean isOverdue() {
         if (histories == null || histories.isEmpty()) {
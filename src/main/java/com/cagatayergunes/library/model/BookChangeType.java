@@ -0,0 +1,7 @@
+package com.cagatayergunes.library.model;
+
+public enum BookChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
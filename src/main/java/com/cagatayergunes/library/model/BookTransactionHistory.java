@@ -1,8 +1,6 @@
 package com.cagatayergunes.library.model;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,13 +15,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedEntityGraph(
+        name = BookTransactionHistory.WITH_BOOK_AND_USER,
+        attributeNodes = {@NamedAttributeNode("book"), @NamedAttributeNode("user")}
+)
 public class BookTransactionHistory extends BaseEntity{
 
-    @ManyToOne
+    public static final String WITH_BOOK_AND_USER = "BookTransactionHistory.withBookAndUser";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
     private Book book;
 
@@ -0,0 +1,25 @@
+package com.cagatayergunes.library.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class ChangeSequence {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long lastSequence;
+}
@@ -0,0 +1,43 @@
+package com.cagatayergunes.library.model;
+
+import com.cagatayergunes.library.model.id.EntityId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class EmailOutbox {
+
+    @Id
+    @EntityId
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailTemplateName template;
+    private String confirmationUrl;
+    private String activationCode;
+    private String subject;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatus status;
+    private int attempts;
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+}
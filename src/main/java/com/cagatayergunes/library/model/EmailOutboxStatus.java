@@ -0,0 +1,7 @@
+package com.cagatayergunes.library.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
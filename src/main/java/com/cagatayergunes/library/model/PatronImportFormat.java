@@ -0,0 +1,6 @@
+package com.cagatayergunes.library.model;
+
+public enum PatronImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,43 @@
+package com.cagatayergunes.library.model;
+
+import com.cagatayergunes.library.model.id.EntityId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class PatronImportJob {
+
+    @Id
+    @EntityId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PatronImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PatronImportStatus status;
+
+    private String sourceFile;
+    private String originalFileName;
+
+    private long totalLines;
+    private long processedLines;
+    private long importedCount;
+    private long skippedCount;
+    private String lastError;
+
+    private Long submittedBy;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.cagatayergunes.library.model;
+
+public enum PatronImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,42 @@
+package com.cagatayergunes.library.model;
+
+import com.cagatayergunes.library.model.id.EntityId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_report_job_lookup", columnList = "type, parameters, status"))
+public class ReportJob {
+
+    @Id
+    @EntityId
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportType type;
+
+    @Column(nullable = false)
+    private String parameters;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    private String resultFile;
+    private long rowCount;
+    private String lastError;
+
+    private Long submittedBy;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
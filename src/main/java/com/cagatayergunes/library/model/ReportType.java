@@ -0,0 +1,7 @@
+package com.cagatayergunes.library.model;
+
+public enum ReportType {
+    OVERDUE_BOOKS,
+    CIRCULATION_BY_GENRE,
+    INACTIVE_PATRONS
+}
@@ -1,9 +1,12 @@
 package com.cagatayergunes.library.model;
 
 
+import com.cagatayergunes.library.model.id.EntityId;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -13,10 +16,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 public class Role {
 
     @Id
-    @GeneratedValue
+    @EntityId
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -1,5 +1,6 @@
 package com.cagatayergunes.library.model;
 
+import com.cagatayergunes.library.model.id.EntityId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @Entity
 public class Token {
 
-    @GeneratedValue
+    @EntityId
     @Id
     private Long id;
     private String token;
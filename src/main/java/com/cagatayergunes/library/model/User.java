@@ -1,5 +1,6 @@
 package com.cagatayergunes.library.model;
 
+import com.cagatayergunes.library.model.id.EntityId;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -26,7 +27,7 @@ import java.util.stream.Collectors;
 public class User implements UserDetails, Principal {
 
     @Id
-    @GeneratedValue
+    @EntityId
     private Long id;
 
     private String firstName;
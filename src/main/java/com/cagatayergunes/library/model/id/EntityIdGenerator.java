@@ -0,0 +1,89 @@
+package com.cagatayergunes.library.model.id;
+
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+public class EntityIdGenerator implements IdentifierGenerator {
+
+    static final String DEFAULT_ALLOCATION_SIZE = "library.id.default-allocation-size";
+    static final String ALLOCATION_SIZE_PREFIX = "library.id.allocation-size.";
+    static final String TIME_ORDERED_ENTITIES = "library.id.time-ordered-entities";
+    static final String NODE_ID = "library.id.node-id";
+
+    // The overdue report partitions history rows and its benchmark sizes them assuming dense sequence ids.
+    private static final Set<String> SEQUENCE_ONLY_ENTITIES = Set.of("BookTransactionHistory");
+
+    private final GeneratorCreationContext creationContext;
+    private IdentifierGenerator delegate;
+
+    public EntityIdGenerator(EntityId annotation, Member member, CustomIdGeneratorCreationContext creationContext) {
+        this.creationContext = creationContext;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        String entityName = parameters.getProperty(IdentifierGenerator.JPA_ENTITY_NAME);
+
+        if (isTimeOrdered(entityName, settings)) {
+            if (SEQUENCE_ONLY_ENTITIES.contains(entityName)) {
+                throw new IllegalArgumentException(entityName + " cannot be listed in " + TIME_ORDERED_ENTITIES);
+            }
+            delegate = new TimeOrderedIdGenerator(ConfigurationHelper.getInt(NODE_ID, settings, 0));
+            return;
+        }
+
+        int defaultAllocationSize = ConfigurationHelper.getInt(DEFAULT_ALLOCATION_SIZE, settings, OptimizableGenerator.DEFAULT_INCREMENT_SIZE);
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE_PREFIX + entityName, settings, defaultAllocationSize);
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OptimizableGenerator.OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+
+        SequenceStyleGenerator sequence = new SequenceStyleGenerator();
+        sequence.create(creationContext);
+        sequence.configure(type, parameters, serviceRegistry);
+        delegate = sequence;
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        delegate.registerExportables(database);
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        delegate.initialize(context);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return delegate.generate(session, object);
+    }
+
+    IdentifierGenerator getDelegate() {
+        return delegate;
+    }
+
+    private boolean isTimeOrdered(String entityName, Map<String, Object> settings) {
+        String entities = ConfigurationHelper.getString(TIME_ORDERED_ENTITIES, settings, "");
+        return Arrays.stream(entities.split(","))
+                .map(String::trim)
+                .anyMatch(entityName::equals);
+    }
+}
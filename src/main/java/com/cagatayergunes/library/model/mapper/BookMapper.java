@@ -23,7 +23,7 @@ public class BookMapper {
                 .build();
     }
 
-    public BookResponse toBookResponse(Book book){
+    public BookResponse toBookResponse(Book book, double rate){
         return BookResponse.builder()
                 .id(book.getId())
                 .title(book.getTitle())
@@ -32,18 +32,20 @@ public class BookMapper {
                 .publicationDate(book.getPublicationDate())
                 .genre(book.getGenre())
                 .synopsis(book.getSynopsis())
-                .rate(book.getRate())
+                .rate(rate)
                 .shareable(book.isShareable())
+                .coverImage(book.getCoverImage())
+                .ebookAvailable(book.getEbookFile() != null)
                 .build();
     }
 
-    public BorrowedBookResponse toBorrowedBookResponse(BookTransactionHistory history){
+    public BorrowedBookResponse toBorrowedBookResponse(BookTransactionHistory history, double rate){
         return BorrowedBookResponse.builder()
                 .id(history.getBook().getId())
                 .title(history.getBook().getTitle())
                 .authorName(history.getBook().getAuthorName())
                 .isbn(history.getBook().getIsbn())
-                .rate(history.getBook().getRate())
+                .rate(rate)
                 .returned(history.isReturned())
                 .returnApproved(history.isReturnApproved())
                 .email(history.getUser().getEmail())
@@ -0,0 +1,27 @@
+package com.cagatayergunes.library.model.mapper;
+
+import com.cagatayergunes.library.model.PatronImportJob;
+import com.cagatayergunes.library.model.response.PatronImportResponse;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PatronImportMapper {
+
+    public PatronImportResponse toPatronImportResponse(PatronImportJob job) {
+        return PatronImportResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .fileName(job.getOriginalFileName())
+                .totalLines(job.getTotalLines())
+                .processedLines(job.getProcessedLines())
+                .importedCount(job.getImportedCount())
+                .skippedCount(job.getSkippedCount())
+                .progress(job.getTotalLines() == 0 ? 1.0 : (double) job.getProcessedLines() / job.getTotalLines())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.cagatayergunes.library.model.mapper;
+
+import com.cagatayergunes.library.model.ReportJob;
+import com.cagatayergunes.library.model.response.ReportJobResponse;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReportJobMapper {
+
+    public ReportJobResponse toReportJobResponse(ReportJob job, boolean cached) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .parameters(job.getParameters())
+                .status(job.getStatus())
+                .rowCount(job.getRowCount())
+                .lastError(job.getLastError())
+                .cached(cached)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -1,11 +1,13 @@
 package com.cagatayergunes.library.model.mapper;
 
 import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.projection.UserSummary;
 import com.cagatayergunes.library.model.request.UserRequest;
-import com.cagatayergunes.library.model.response.FeedbackResponse;
 import com.cagatayergunes.library.model.response.UserResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class UserMapper {
 
@@ -26,4 +28,18 @@ public class UserMapper {
                 )
                 .build();
     }
+
+    public UserResponse toUserResponse(UserSummary user, List<String> roles) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .accountLocked(user.isAccountLocked())
+                .enabled(user.isEnabled())
+                .createdDate(user.getCreatedDate())
+                .updatedDate(user.getUpdatedDate())
+                .roles(roles)
+                .build();
+    }
 }
@@ -0,0 +1,6 @@
+package com.cagatayergunes.library.model.projection;
+
+public interface BookRate {
+    Long getBookId();
+    Double getRate();
+}
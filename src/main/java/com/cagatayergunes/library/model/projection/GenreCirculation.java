@@ -0,0 +1,7 @@
+package com.cagatayergunes.library.model.projection;
+
+public interface GenreCirculation {
+    String getGenre();
+    long getLoans();
+    long getActiveLoans();
+}
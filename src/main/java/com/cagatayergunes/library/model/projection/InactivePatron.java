@@ -0,0 +1,11 @@
+package com.cagatayergunes.library.model.projection;
+
+import java.time.LocalDateTime;
+
+public interface InactivePatron {
+    Long getId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    LocalDateTime getLastBorrowDate();
+}
@@ -0,0 +1,15 @@
+package com.cagatayergunes.library.model.projection;
+
+import java.time.LocalDateTime;
+
+public record OverdueLoan(
+        Long id,
+        String title,
+        String authorName,
+        String isbn,
+        LocalDateTime dueDate,
+        String firstName,
+        String lastName,
+        String email
+) {
+}
@@ -0,0 +1,8 @@
+package com.cagatayergunes.library.model.projection;
+
+import com.cagatayergunes.library.model.RoleName;
+
+public interface UserRoleSummary {
+    Long getUserId();
+    RoleName getRoleName();
+}
@@ -0,0 +1,14 @@
+package com.cagatayergunes.library.model.projection;
+
+import java.time.LocalDateTime;
+
+public interface UserSummary {
+    Long getId();
+    String getFirstName();
+    String getLastName();
+    String getEmail();
+    boolean isAccountLocked();
+    boolean isEnabled();
+    LocalDateTime getCreatedDate();
+    LocalDateTime getUpdatedDate();
+}
@@ -0,0 +1,13 @@
+package com.cagatayergunes.library.model.request;
+
+public record BulkBookRequest(
+        String genre,
+        String authorName,
+        Boolean shareable,
+        String newGenre
+) {
+
+    public boolean hasFilter() {
+        return genre != null || authorName != null || shareable != null;
+    }
+}
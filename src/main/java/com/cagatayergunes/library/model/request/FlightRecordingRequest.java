@@ -0,0 +1,18 @@
+package com.cagatayergunes.library.model.request;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record FlightRecordingRequest(
+        @Size(max = 100, message = "Recording name must be at most 100 characters")
+        String name,
+        String configuration,
+        Duration duration,
+        @Positive(message = "Maximum size must be positive")
+        Long maxSizeBytes,
+        Map<String, String> settings
+) {
+}
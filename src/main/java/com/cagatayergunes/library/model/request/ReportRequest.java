@@ -0,0 +1,17 @@
+package com.cagatayergunes.library.model.request;
+
+import com.cagatayergunes.library.model.ReportType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record ReportRequest(
+        @NotNull(message = "Report type cannot be null")
+        ReportType type,
+        LocalDate from,
+        LocalDate to,
+        @Min(value = 1, message = "Inactive days must be at least 1")
+        Integer inactiveDays
+) {
+}
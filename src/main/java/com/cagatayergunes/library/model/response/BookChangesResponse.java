@@ -0,0 +1,18 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookChangesResponse {
+
+    private List<BookResponse> books;
+    private List<Long> deletedBookIds;
+    private long cursor;
+    private boolean hasMore;
+}
@@ -20,4 +20,6 @@ public class BookResponse {
     private double rate;
     private LocalDate publicationDate;
     private String genre;
+    private String coverImage;
+    private boolean ebookAvailable;
 }
@@ -0,0 +1,15 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkUpdateResponse {
+
+    private String operation;
+    private long updated;
+    private int batches;
+}
@@ -0,0 +1,18 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRegionStatisticsResponse {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private Long elementCountInMemory;
+    private double hitRatio;
+}
@@ -0,0 +1,17 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CoverImageResponse {
+
+    private Long bookId;
+    private String coverImage;
+    private String contentType;
+    private long size;
+    private boolean deduplicated;
+}
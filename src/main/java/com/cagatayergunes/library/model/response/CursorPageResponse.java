@@ -0,0 +1,18 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private Long nextCursor;
+    private boolean last;
+}
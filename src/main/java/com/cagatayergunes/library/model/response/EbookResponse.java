@@ -0,0 +1,17 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EbookResponse {
+
+    private Long bookId;
+    private String ebookFile;
+    private String contentType;
+    private long size;
+    private boolean deduplicated;
+}
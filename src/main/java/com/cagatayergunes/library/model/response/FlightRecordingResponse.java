@@ -0,0 +1,22 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightRecordingResponse {
+
+    private long id;
+    private String name;
+    private String configuration;
+    private String state;
+    private Instant startTime;
+    private Duration duration;
+    private long maxSizeBytes;
+}
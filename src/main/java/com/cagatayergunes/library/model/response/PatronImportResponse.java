@@ -0,0 +1,29 @@
+package com.cagatayergunes.library.model.response;
+
+import com.cagatayergunes.library.model.PatronImportFormat;
+import com.cagatayergunes.library.model.PatronImportStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PatronImportResponse {
+
+    private Long id;
+    private PatronImportFormat format;
+    private PatronImportStatus status;
+    private String fileName;
+    private long totalLines;
+    private long processedLines;
+    private long importedCount;
+    private long skippedCount;
+    private double progress;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
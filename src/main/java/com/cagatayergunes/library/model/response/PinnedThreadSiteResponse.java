@@ -0,0 +1,19 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PinnedThreadSiteResponse {
+
+    private String site;
+    private long pinnedCount;
+    private double totalMillis;
+    private double maxMillis;
+    private List<String> stackTrace;
+}
@@ -0,0 +1,24 @@
+package com.cagatayergunes.library.model.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueryShapeStatisticsResponse {
+
+    private String shape;
+    private String sql;
+    private long count;
+    private double totalMillis;
+    private double meanMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private long slowCount;
+    private String lastSlowEndpoint;
+    private String lastSlowMethod;
+}
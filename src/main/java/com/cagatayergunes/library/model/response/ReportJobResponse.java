@@ -0,0 +1,26 @@
+package com.cagatayergunes.library.model.response;
+
+import com.cagatayergunes.library.model.ReportJobStatus;
+import com.cagatayergunes.library.model.ReportType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobResponse {
+
+    private Long id;
+    private ReportType type;
+    private String parameters;
+    private ReportJobStatus status;
+    private long rowCount;
+    private String lastError;
+    private boolean cached;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,37 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.BookChange;
+import com.cagatayergunes.library.model.BookChangeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookChangeRepository extends JpaRepository<BookChange, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<BookChange> findBySequenceGreaterThanOrderBySequenceAsc(long since, Limit limit);
+
+    @Modifying
+    @Query("""
+            INSERT INTO BookChange (sequence, bookId, type, changedAt)
+            SELECT book.id, book.id, :type, :changedAt
+            FROM Book book
+            """)
+    int backfill(BookChangeType type, LocalDateTime changedAt);
+
+    @Modifying
+    @Query("""
+            INSERT INTO BookChange (sequence, bookId, type, changedAt)
+            SELECT book.id + :offset, book.id, :type, :changedAt
+            FROM Book book
+            WHERE book.id BETWEEN :firstBookId AND :lastBookId
+            """)
+    int recordRange(long firstBookId, long lastBookId, long offset, BookChangeType type, LocalDateTime changedAt);
+}
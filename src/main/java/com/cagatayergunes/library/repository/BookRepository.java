@@ -1,20 +1,110 @@
 package com.cagatayergunes.library.repository;
 
 import com.cagatayergunes.library.model.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
         SELECT book
         FROM Book book
         WHERE book.shareable = true
+        AND book.deletedAt IS NULL
         """)
     Page<Book> findAllDisplayableBooks(Pageable pageable);
 
-    Page<Book> findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCase(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<Book> findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCaseAndDeletedAtIsNull(
             String title, String authorName, String isbn, String genre, Pageable pageable);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT book
+        FROM Book book
+        WHERE book.id = :bookId
+        """)
+    Optional<Book> findByIdForUpdate(Long bookId);
+
+    @Query("""
+        SELECT COALESCE(MAX(book.id), 0)
+        FROM Book book
+        """)
+    long findMaxId();
+
+    @Query("""
+        SELECT book.id
+        FROM Book book
+        WHERE book.deletedAt IS NOT NULL
+        ORDER BY book.deletedAt
+        """)
+    List<Long> findDeletedBookIds(Limit limit);
+
+    @Modifying
+    @Query("""
+        DELETE FROM Book book
+        WHERE book.id = :bookId
+        AND book.deletedAt IS NOT NULL
+        """)
+    int deleteSoftDeleted(Long bookId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT book.id
+        FROM Book book
+        WHERE book.id > :after
+        AND book.deletedAt IS NULL
+        AND (:genre IS NULL OR LOWER(book.genre) = LOWER(:genre))
+        AND (:authorName IS NULL OR LOWER(book.authorName) = LOWER(:authorName))
+        AND (:shareable IS NULL OR book.shareable = :shareable)
+        ORDER BY book.id
+        """)
+    List<Long> findIdsMatchingForUpdate(long after, String genre, String authorName, Boolean shareable, Limit limit);
+
+    @Modifying
+    @Query("""
+        UPDATE Book book
+        SET book.shareable = CASE WHEN book.shareable = true THEN false ELSE true END,
+            book.lastModifiedDate = :modifiedAt,
+            book.lastModifiedBy = :modifiedBy
+        WHERE book.id IN :bookIds
+        AND book.deletedAt IS NULL
+        """)
+    int toggleShareable(List<Long> bookIds, LocalDateTime modifiedAt, Long modifiedBy);
+
+    @Modifying
+    @Query("""
+        UPDATE Book book
+        SET book.shareable = false,
+            book.lastModifiedDate = :modifiedAt,
+            book.lastModifiedBy = :modifiedBy
+        WHERE book.id IN :bookIds
+        AND book.deletedAt IS NULL
+        """)
+    int withdraw(List<Long> bookIds, LocalDateTime modifiedAt, Long modifiedBy);
+
+    @Modifying
+    @Query("""
+        UPDATE Book book
+        SET book.genre = :genre,
+            book.lastModifiedDate = :modifiedAt,
+            book.lastModifiedBy = :modifiedBy
+        WHERE book.id IN :bookIds
+        AND book.deletedAt IS NULL
+        """)
+    int retag(List<Long> bookIds, String genre, LocalDateTime modifiedAt, Long modifiedBy);
+}
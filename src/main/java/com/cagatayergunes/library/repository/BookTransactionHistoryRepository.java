@@ -2,14 +2,26 @@ package com.cagatayergunes.library.repository;
 
 import com.cagatayergunes.library.model.Book;
 import com.cagatayergunes.library.model.BookTransactionHistory;
+import com.cagatayergunes.library.model.projection.GenreCirculation;
+import com.cagatayergunes.library.model.projection.OverdueLoan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookTransactionHistoryRepository extends JpaRepository<BookTransactionHistory, Long> {
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
                 SELECT history
                 FROM BookTransactionHistory history
@@ -18,6 +30,8 @@ public interface BookTransactionHistoryRepository extends JpaRepository<BookTran
     )
     Page<BookTransactionHistory> findAllBorrowedBooks(Pageable pageable, Long userId);
 
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
     SELECT history
     FROM BookTransactionHistory history
@@ -25,6 +39,8 @@ public interface BookTransactionHistoryRepository extends JpaRepository<BookTran
     Page<BookTransactionHistory> findAllBorrowedBooks(Pageable pageable);
 
 
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
     SELECT history
     FROM BookTransactionHistory history
@@ -32,6 +48,8 @@ public interface BookTransactionHistoryRepository extends JpaRepository<BookTran
 """)
     Page<BookTransactionHistory> findAllReturnedBooks(Pageable pageable);
 
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
                 SELECT history
                 FROM BookTransactionHistory history
@@ -51,7 +69,87 @@ public interface BookTransactionHistoryRepository extends JpaRepository<BookTran
     )
     boolean isAlreadyBorrowedByUser(Long bookId);
 
+    @Query("""
+            SELECT EXISTS (
+            SELECT 1
+            FROM BookTransactionHistory history
+            WHERE history.book.id = :bookId
+            AND history.user.id = :userId
+            AND history.returned = false
+            )
+            """)
+    boolean hasActiveLoan(Long bookId, Long userId);
+
+    @Query("""
+            SELECT history.id
+            FROM BookTransactionHistory history
+            WHERE history.book.id = :bookId
+            """)
+    List<Long> findIdsByBookId(Long bookId, Limit limit);
+
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
     Optional<BookTransactionHistory> findByBookAndReturnApprovedFalseAndReturnedFalse(Book book);
 
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
     Optional<BookTransactionHistory> findByBookAndReturnApprovedFalseAndReturnedTrue(Book book);
+
+    @EntityGraph(BookTransactionHistory.WITH_BOOK_AND_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT history
+            FROM BookTransactionHistory history
+            WHERE history.returned = false
+            AND history.dueDate < :now
+            ORDER BY history.dueDate
+            """)
+    List<BookTransactionHistory> findAllOverdue(LocalDateTime now);
+
+    @Query("""
+            SELECT book.genre AS genre, COUNT(history) AS loans,
+                   SUM(CASE WHEN history.returned = false THEN 1 ELSE 0 END) AS activeLoans
+            FROM BookTransactionHistory history
+            JOIN history.book book
+            WHERE history.borrowDate >= :from
+            AND history.borrowDate < :to
+            GROUP BY book.genre
+            ORDER BY COUNT(history) DESC, book.genre
+            """)
+    List<GenreCirculation> findCirculationByGenre(LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+            SELECT COUNT(history)
+            FROM BookTransactionHistory history
+            WHERE history.returned = false
+            AND history.dueDate < :now
+            """)
+    long countOverdue(LocalDateTime now);
+
+    @Query("""
+            SELECT numbered.id
+            FROM (SELECT history.id AS id, ROW_NUMBER() OVER (ORDER BY history.id) AS position
+                  FROM BookTransactionHistory history
+                  WHERE history.returned = false
+                  AND history.dueDate < :now) numbered
+            WHERE MOD(numbered.position - 1, :partitionRows) = 0
+            ORDER BY numbered.id
+            """)
+    List<Long> findOverduePartitionStarts(LocalDateTime now, long partitionRows);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query("""
+            SELECT new com.cagatayergunes.library.model.projection.OverdueLoan(
+                   history.id, book.title, book.authorName, book.isbn, history.dueDate,
+                   account.firstName, account.lastName, account.email)
+            FROM BookTransactionHistory history
+            JOIN history.book book
+            JOIN history.user account
+            WHERE history.returned = false
+            AND history.dueDate < :now
+            AND history.id BETWEEN :fromId AND :toId
+            ORDER BY history.id
+            """)
+    Stream<OverdueLoan> streamOverdueLoans(LocalDateTime now, Long fromId, Long toId);
 }
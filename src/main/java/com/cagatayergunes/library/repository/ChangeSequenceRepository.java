@@ -0,0 +1,20 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.ChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT sequence
+            FROM ChangeSequence sequence
+            WHERE sequence.name = :name
+            """)
+    Optional<ChangeSequence> findForUpdate(String name);
+}
@@ -0,0 +1,42 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.EmailOutbox;
+import com.cagatayergunes.library.model.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT outbox
+            FROM EmailOutbox outbox
+            WHERE outbox.status = com.cagatayergunes.library.model.EmailOutboxStatus.PENDING
+            AND outbox.nextAttemptAt <= :now
+            ORDER BY outbox.id
+            """)
+    List<EmailOutbox> findDueForDispatch(LocalDateTime now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT outbox
+            FROM EmailOutbox outbox
+            WHERE outbox.id IN :ids
+            AND outbox.status = com.cagatayergunes.library.model.EmailOutboxStatus.PENDING
+            AND outbox.nextAttemptAt = :leasedUntil
+            ORDER BY outbox.id
+            """)
+    List<EmailOutbox> findLeasedForUpdate(Collection<Long> ids, LocalDateTime leasedUntil);
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -1,10 +1,49 @@
 package com.cagatayergunes.library.repository;
 
 import com.cagatayergunes.library.model.Feedback;
+import com.cagatayergunes.library.model.projection.BookRate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Feedback> findAllByBookId(Long bookId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("""
+            SELECT feedback.book.id AS bookId, AVG(feedback.note) AS rate
+            FROM Feedback feedback
+            WHERE feedback.book.id IN :bookIds
+            GROUP BY feedback.book.id
+            """)
+    List<BookRate> findAverageRates(Collection<Long> bookIds);
+
+    default Map<Long, Double> findAverageRatesByBookIds(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        return findAverageRates(bookIds).stream()
+                .collect(Collectors.toMap(BookRate::getBookId, BookRate::getRate));
+    }
+
+    @Query("""
+            SELECT feedback.id
+            FROM Feedback feedback
+            WHERE feedback.book.id = :bookId
+            """)
+    List<Long> findIdsByBookId(Long bookId, Limit limit);
+
+    default double findAverageRate(Long bookId) {
+        return findAverageRatesByBookIds(List.of(bookId)).getOrDefault(bookId, 0.0);
+    }
+}
@@ -0,0 +1,13 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.PatronImportJob;
+import com.cagatayergunes.library.model.PatronImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PatronImportJobRepository extends JpaRepository<PatronImportJob, Long> {
+
+    List<PatronImportJob> findByStatusAndFinishedAtBeforeAndSourceFileIsNotNull(PatronImportStatus status, LocalDateTime cutoff);
+}
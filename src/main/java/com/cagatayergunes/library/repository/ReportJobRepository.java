@@ -0,0 +1,50 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.ReportJob;
+import com.cagatayergunes.library.model.ReportType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    @Query("""
+            SELECT job
+            FROM ReportJob job
+            WHERE job.type = :type
+            AND job.parameters = :parameters
+            AND ((job.status IN (com.cagatayergunes.library.model.ReportJobStatus.QUEUED,
+                                 com.cagatayergunes.library.model.ReportJobStatus.RUNNING)
+                    AND job.createdAt >= :inFlightSince)
+                OR (job.status = com.cagatayergunes.library.model.ReportJobStatus.COMPLETED
+                    AND job.finishedAt >= :freshSince))
+            ORDER BY job.createdAt DESC
+            """)
+    List<ReportJob> findReusableJobs(ReportType type, String parameters, LocalDateTime freshSince,
+                                     LocalDateTime inFlightSince, Pageable pageable);
+
+    default Optional<ReportJob> findReusableJob(ReportType type, String parameters, LocalDateTime freshSince,
+                                                LocalDateTime inFlightSince) {
+        return findReusableJobs(type, parameters, freshSince, inFlightSince, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    @Modifying
+    @Query("""
+            UPDATE ReportJob job
+            SET job.status = com.cagatayergunes.library.model.ReportJobStatus.FAILED,
+                job.finishedAt = :finishedAt,
+                job.lastError = :error
+            WHERE job.status IN (com.cagatayergunes.library.model.ReportJobStatus.QUEUED,
+                                 com.cagatayergunes.library.model.ReportJobStatus.RUNNING)
+            AND job.createdAt < :createdBefore
+            """)
+    int failInFlightJobs(LocalDateTime createdBefore, String error, LocalDateTime finishedAt);
+
+    List<ReportJob> findByCreatedAtBefore(LocalDateTime cutoff);
+}
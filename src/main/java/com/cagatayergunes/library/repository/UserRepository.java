@@ -1,13 +1,79 @@
 package com.cagatayergunes.library.repository;
 
 import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.projection.InactivePatron;
+import com.cagatayergunes.library.model.projection.UserRoleSummary;
+import com.cagatayergunes.library.model.projection.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
     Optional<User> findByFirstName(String firstName);
+
+    @Query("""
+            SELECT account.email
+            FROM User account
+            WHERE account.email IN :emails
+            """)
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    @Query("""
+            SELECT account.id AS id, account.firstName AS firstName, account.lastName AS lastName, account.email AS email,
+                   account.accountLocked AS accountLocked, account.enabled AS enabled,
+                   account.createdDate AS createdDate, account.updatedDate AS updatedDate
+            FROM User account
+            WHERE account.id > :cursor
+            ORDER BY account.id
+            """)
+    List<UserSummary> findUserDirectoryPage(Long cursor, Pageable pageable);
+
+    @Query("""
+            SELECT account.id AS id, account.firstName AS firstName, account.lastName AS lastName, account.email AS email,
+                   account.accountLocked AS accountLocked, account.enabled AS enabled,
+                   account.createdDate AS createdDate, account.updatedDate AS updatedDate
+            FROM User account
+            WHERE account.id > :cursor
+            AND (LOWER(account.email) LIKE :prefix ESCAPE '\\'
+                OR LOWER(account.firstName) LIKE :prefix ESCAPE '\\'
+                OR LOWER(account.lastName) LIKE :prefix ESCAPE '\\')
+            ORDER BY account.id
+            """)
+    List<UserSummary> searchUserDirectoryPage(Long cursor, String prefix, Pageable pageable);
+
+    @Query("""
+            SELECT account.id AS userId, role.name AS roleName
+            FROM User account
+            JOIN account.roles role
+            WHERE account.id IN :userIds
+            """)
+    List<UserRoleSummary> findRoleNamesByUserIds(Collection<Long> userIds);
+
+    @Query("""
+            SELECT account.id AS id, account.firstName AS firstName, account.lastName AS lastName,
+                   account.email AS email, MAX(history.borrowDate) AS lastBorrowDate
+            FROM User account
+            LEFT JOIN account.histories history
+            WHERE account.enabled = true
+            AND EXISTS (SELECT 1 FROM User patron JOIN patron.roles role
+                        WHERE patron = account
+                        AND role.name = com.cagatayergunes.library.model.RoleName.PATRON)
+            AND NOT EXISTS (SELECT 1 FROM User staff JOIN staff.roles role
+                            WHERE staff = account
+                            AND role.name IN (com.cagatayergunes.library.model.RoleName.LIBRARIAN,
+                                              com.cagatayergunes.library.model.RoleName.ADMIN))
+            GROUP BY account.id, account.firstName, account.lastName, account.email
+            HAVING MAX(history.borrowDate) IS NULL OR MAX(history.borrowDate) < :cutoff
+            ORDER BY MAX(history.borrowDate) NULLS FIRST, account.id
+            """)
+    List<InactivePatron> findInactivePatrons(LocalDateTime cutoff);
 }
@@ -1,6 +1,10 @@
 package com.cagatayergunes.library.security;
 
+import com.cagatayergunes.library.jfr.JwtValidationEvent;
+import com.cagatayergunes.library.model.User;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +29,8 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -33,13 +39,17 @@ public class JwtFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader(AUTHORIZATION);
         final String jwt;
+        if(authHeader == null || !authHeader.startsWith("Bearer ")){
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        String outcome = "skipped";
         try {
             final String userEmail;
 
-            if(authHeader == null || !authHeader.startsWith("Bearer ")){
-                filterChain.doFilter(request, response);
-                return;
-            }
             jwt = authHeader.substring(7);
             userEmail = jwtService.extractUsername(jwt);
 
@@ -55,10 +65,24 @@ public class JwtFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    outcome = "authenticated";
+                    if (userDetails instanceof User user && user.getId() != null) {
+                        event.setUserId(user.getId());
+                    }
+                } else {
+                    outcome = "invalid";
                 }
             }
         }catch (ExpiredJwtException ex){
+            outcome = "expired";
+            throw ex;
+        }catch (RuntimeException ex){
+            outcome = "error";
             throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer("library.security.jwt.filter", "outcome", outcome));
+            event.setOutcome(outcome);
+            event.commit();
         }
         filterChain.doFilter(request,response);
 
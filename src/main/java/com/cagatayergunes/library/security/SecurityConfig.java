@@ -3,6 +3,7 @@ package com.cagatayergunes.library.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -38,8 +39,11 @@ public class SecurityConfig {
                                         "/configuration/security",
                                         "/swagger-ui/**",
                                         "/webjars/**",
-                                        "/swagger-ui.html"
+                                        "/swagger-ui.html",
+                                        "/actuator/health"
                         ).permitAll()
+                                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+                                .requestMatchers(HttpMethod.GET, "/covers/**").permitAll()
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -0,0 +1,94 @@
+package com.cagatayergunes.library.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BulkLoader {
+
+    private static final int JDBC_BATCH_SIZE = 1000;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final DataSource dataSource;
+
+    void load(SeedTable table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copy(connection.unwrap(PGConnection.class), table, rows);
+                } else {
+                    insert(connection, table, rows);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void copy(PGConnection connection, SeedTable table, List<Object[]> rows) throws SQLException {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                appendCsv(csv, row[i]);
+            }
+            csv.append('\n');
+        }
+        String sql = "COPY %s (%s) FROM STDIN WITH (FORMAT csv)".formatted(table.getTableName(), String.join(", ", table.getColumns()));
+        try {
+            connection.getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table.getTableName() + " failed", e);
+        }
+    }
+
+    private void insert(Connection connection, SeedTable table, List<Object[]> rows) throws SQLException {
+        String sql = "insert into %s (%s) values (%s)".formatted(
+                table.getTableName(),
+                String.join(", ", table.getColumns()),
+                String.join(", ", Collections.nCopies(table.getColumns().size(), "?")));
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    statement.setObject(i + 1, row[i]);
+                }
+                statement.addBatch();
+                if (++batched % JDBC_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void appendCsv(StringBuilder csv, Object value) {
+        switch (value) {
+            case null -> { }
+            case String text -> csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            case LocalDateTime timestamp -> csv.append(TIMESTAMP.format(timestamp));
+            case LocalDate date -> csv.append(date);
+            default -> csv.append(value);
+        }
+    }
+}
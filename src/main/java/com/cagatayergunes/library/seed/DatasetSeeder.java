@@ -0,0 +1,375 @@
+package com.cagatayergunes.library.seed;
+
+import com.cagatayergunes.library.model.Role;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.service.BookChangeService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class DatasetSeeder implements CommandLineRunner {
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Amara", "Ana", "Ben", "Chen", "Clara", "Daniel", "Elif",
+            "Emma", "Farid", "Grace", "Hana", "Ivan", "Jonas", "Kemal", "Lea", "Lucas", "Maya", "Mehmet", "Nina", "Omar",
+            "Priya", "Rosa", "Sam", "Selin", "Tom", "Yuki", "Zeynep", "Zoe"};
+    private static final String[] LAST_NAMES = {"Aksoy", "Brown", "Costa", "Demir", "Evans", "Fischer", "Garcia",
+            "Hughes", "Ito", "Jensen", "Kaya", "Lopez", "Martin", "Nakamura", "Novak", "Okafor", "Petrov", "Quinn",
+            "Rossi", "Sato", "Schmidt", "Silva", "Smith", "Tanaka", "Wang", "Yilmaz"};
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Last", "Broken", "Golden", "Winter", "Distant",
+            "Forgotten", "Burning", "Quiet", "Endless", "Crimson", "Secret", "Wandering", "Glass", "Northern"};
+    private static final String[] NOUNS = {"River", "Garden", "City", "Letter", "Mountain", "Kingdom", "Voyage",
+            "Archive", "Harbor", "Orchard", "Signal", "Empire", "Library", "Lighthouse", "Forest", "Machine"};
+    private static final String[] GENRES = {"Fiction", "Mystery", "Romance", "Science Fiction", "Fantasy", "History",
+            "Biography", "Science", "Poetry", "Children", "Philosophy", "Travel"};
+    private static final String[] COMMENTS = {"Could not put it down.", "Slow start, great ending.", "Not for me.",
+            "A classic for a reason.", "Beautifully written.", "Too long.", "Would read again.", "Solid but forgettable."};
+    private static final double[] NOTE_WEIGHTS = {0.05, 0.08, 0.17, 0.35, 0.35};
+    private static final int DAYS_OF_HISTORY = 3 * 365;
+    private static final int LOAN_DAYS = 14;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BookChangeService bookChangeService;
+
+    @Value("${application.seed.users:100000}")
+    private int users;
+
+    @Value("${application.seed.books:1000000}")
+    private int books;
+
+    @Value("${application.seed.histories:5000000}")
+    private int histories;
+
+    @Value("${application.seed.feedbacks:2000000}")
+    private int feedbacks;
+
+    @Value("${application.seed.threads:4}")
+    private int threads;
+
+    @Value("${application.seed.chunk-size:20000}")
+    private int chunkSize;
+
+    @Value("${application.seed.seed:42}")
+    private long seed;
+
+    @Value("${application.seed.reference-date:}")
+    private String referenceDate;
+
+    @Value("${application.seed.book-popularity-skew:1.1}")
+    private double bookPopularitySkew;
+
+    @Value("${application.seed.author-skew:1.2}")
+    private double authorSkew;
+
+    @Value("${application.seed.user-activity-skew:0.8}")
+    private double userActivitySkew;
+
+    @Value("${application.seed.overdue-fraction:0.04}")
+    private double overdueFraction;
+
+    @Value("${application.seed.active-fraction:0.03}")
+    private double activeFraction;
+
+    @Value("${application.seed.pending-approval-fraction:0.01}")
+    private double pendingApprovalFraction;
+
+    @Value("${application.seed.librarian-every:1000}")
+    private int librarianEvery;
+
+    @Override
+    public void run(String... args) throws Exception {
+        seed();
+    }
+
+    Map<SeedTable, Long> seed() throws InterruptedException, ExecutionException {
+        if (users < 1 || books < 1) {
+            throw new IllegalStateException("Seeding needs at least one user and one book");
+        }
+        log.info("Seeding {} users, {} books, {} loans and {} feedbacks with seed {} on {} threads",
+                users, books, histories, feedbacks, seed, threads);
+
+        Map<SeedTable, Long> firstIds = new EnumMap<>(SeedTable.class);
+        firstIds.put(SeedTable.USER, reserve(SeedTable.USER, users));
+        firstIds.put(SeedTable.BOOK, reserve(SeedTable.BOOK, books));
+        firstIds.put(SeedTable.HISTORY, reserve(SeedTable.HISTORY, histories));
+        firstIds.put(SeedTable.FEEDBACK, reserve(SeedTable.FEEDBACK, feedbacks));
+
+        Generator generator = new Generator(firstIds);
+        BulkLoader loader = new BulkLoader(dataSource);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            await(SeedTable.USER, users, System.nanoTime(), submit(executor, loader, SeedTable.USER, users, generator::users));
+            await(SeedTable.BOOK, books, System.nanoTime(), submit(executor, loader, SeedTable.BOOK, books, generator::books));
+            long firstBookId = firstIds.get(SeedTable.BOOK);
+            if (!bookChangeService.recordCreatedRange(firstBookId, firstBookId + books - 1)) {
+                log.info("The book change feed is not initialized yet, its startup backfill will include the seeded books");
+            }
+            long start = System.nanoTime();
+            List<Future<?>> historyChunks = submit(executor, loader, SeedTable.HISTORY, histories, generator::histories);
+            List<Future<?>> feedbackChunks = submit(executor, loader, SeedTable.FEEDBACK, feedbacks, generator::feedbacks);
+            await(SeedTable.HISTORY, histories, start, historyChunks);
+            await(SeedTable.FEEDBACK, feedbacks, start, feedbackChunks);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Seeding finished");
+        return firstIds;
+    }
+
+    private long reserve(SeedTable table, int count) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(table.getSequence()), Long.class);
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table.getTableName(), Long.class);
+        long first = Math.max(maxId + 1, next);
+        jdbcTemplate.execute("alter sequence %s restart with %d".formatted(table.getSequence(), first + count));
+        return first;
+    }
+
+    private List<Future<?>> submit(ExecutorService executor, BulkLoader loader, SeedTable table, int rows, ChunkGenerator generator) {
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0, chunk = 0; from < rows; from += chunkSize, chunk++) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(rows, from + chunkSize);
+            SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + table.ordinal() * 1_000_003L + chunk);
+            chunks.add(executor.submit(() -> {
+                for (Map.Entry<SeedTable, List<Object[]>> generated : generator.generate(chunkFrom, chunkTo, random).entrySet()) {
+                    loader.load(generated.getKey(), generated.getValue());
+                }
+                return null;
+            }));
+        }
+        return chunks;
+    }
+
+    private void await(SeedTable table, int rows, long start, List<Future<?>> chunks) throws InterruptedException, ExecutionException {
+        for (Future<?> chunk : chunks) {
+            chunk.get();
+        }
+        long elapsedMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        log.info("Seeded {} {} rows in {} ms ({} rows/s)", rows, table.getTableName(), elapsedMillis, rows * 1000L / elapsedMillis);
+    }
+
+    @FunctionalInterface
+    private interface ChunkGenerator {
+        Map<SeedTable, List<Object[]>> generate(int from, int to, SplittableRandom random);
+    }
+
+    private final class Generator {
+
+        private final long firstUserId;
+        private final long firstBookId;
+        private final long firstHistoryId;
+        private final long firstFeedbackId;
+        private final Long patronRoleId;
+        private final Long librarianRoleId;
+        private final String password;
+        private final LocalDateTime now;
+        private final int librarians;
+        private final ZipfDistribution bookPopularity;
+        private final ZipfDistribution authorPopularity;
+        private final ZipfDistribution genrePopularity;
+        private final ZipfDistribution userActivity;
+        private final Permutation bookByRank;
+        private final Permutation userByRank;
+        private final Permutation openLoanBook;
+
+        private Generator(Map<SeedTable, Long> firstIds) {
+            firstUserId = firstIds.get(SeedTable.USER);
+            firstBookId = firstIds.get(SeedTable.BOOK);
+            firstHistoryId = firstIds.get(SeedTable.HISTORY);
+            firstFeedbackId = firstIds.get(SeedTable.FEEDBACK);
+            patronRoleId = role(RoleName.PATRON);
+            librarianRoleId = role(RoleName.LIBRARIAN);
+            password = passwordEncoder.encode("password");
+            now = referenceDate.isBlank() ? LocalDate.now().atStartOfDay() : LocalDate.parse(referenceDate).atStartOfDay();
+            librarians = (users + librarianEvery - 1) / librarianEvery;
+            bookPopularity = new ZipfDistribution(books, bookPopularitySkew);
+            authorPopularity = new ZipfDistribution(Math.max(1, books / 8), authorSkew);
+            genrePopularity = new ZipfDistribution(GENRES.length, 1.0);
+            userActivity = new ZipfDistribution(users, userActivitySkew);
+            bookByRank = Permutation.of(books, seed);
+            userByRank = Permutation.of(users, seed + 1);
+            openLoanBook = Permutation.of(books, seed + 2);
+        }
+
+        private Long role(RoleName name) {
+            return roleRepository.findByName(name)
+                    .orElseGet(() -> roleRepository.save(Role.builder().name(name).build()))
+                    .getId();
+        }
+
+        Map<SeedTable, List<Object[]>> users(int from, int to, SplittableRandom random) {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            List<Object[]> roles = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long id = firstUserId + i;
+                rows.add(new Object[]{
+                        id,
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                        LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        "user" + id + "@seed.example.com",
+                        password,
+                        random.nextDouble() < 0.002,
+                        true,
+                        daysAgo(random, 0, DAYS_OF_HISTORY)
+                });
+                roles.add(new Object[]{id, i % librarianEvery == 0 ? librarianRoleId : patronRoleId});
+            }
+            Map<SeedTable, List<Object[]>> tables = new LinkedHashMap<>();
+            tables.put(SeedTable.USER, rows);
+            tables.put(SeedTable.USER_ROLE, roles);
+            return tables;
+        }
+
+        Map<SeedTable, List<Object[]>> books(int from, int to, SplittableRandom random) {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int author = authorPopularity.sample(random);
+                rows.add(new Object[]{
+                        firstBookId + i,
+                        "The " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)],
+                        authorName(author),
+                        isbn(i),
+                        "A " + GENRES[(author + i) % GENRES.length].toLowerCase() + " title from the seeded catalog.",
+                        GENRES[genrePopularity.sample(random) - 1],
+                        LocalDate.of(2024, 1, 1).minusDays((long) (-Math.log(1 - random.nextDouble()) * 3650)),
+                        random.nextDouble() < 0.95,
+                        firstUserId + (long) random.nextInt(librarians) * librarianEvery,
+                        daysAgo(random, 0, DAYS_OF_HISTORY)
+                });
+            }
+            return Map.of(SeedTable.BOOK, rows);
+        }
+
+        Map<SeedTable, List<Object[]>> histories(int from, int to, SplittableRandom random) {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long userId = user(random);
+                double state = random.nextDouble();
+                boolean open = i < books;
+                LocalDateTime borrowDate;
+                LocalDateTime returnDate = null;
+                boolean returned = true;
+                boolean returnApproved = true;
+                long bookId;
+
+                if (open && state < overdueFraction) {
+                    bookId = firstBookId + openLoanBook.apply(i);
+                    borrowDate = daysAgo(random, LOAN_DAYS + 1, 120);
+                    returned = false;
+                    returnApproved = false;
+                } else if (open && state < overdueFraction + activeFraction) {
+                    bookId = firstBookId + openLoanBook.apply(i);
+                    borrowDate = daysAgo(random, 0, LOAN_DAYS);
+                    returned = false;
+                    returnApproved = false;
+                } else if (open && state < overdueFraction + activeFraction + pendingApprovalFraction) {
+                    bookId = firstBookId + openLoanBook.apply(i);
+                    borrowDate = daysAgo(random, 3, LOAN_DAYS + 10);
+                    returnDate = borrowDate.plusDays(random.nextInt(1, 3 + LOAN_DAYS));
+                    returnApproved = false;
+                } else {
+                    bookId = book(random);
+                    borrowDate = daysAgo(random, LOAN_DAYS + 30, DAYS_OF_HISTORY);
+                    returnDate = borrowDate.plusDays(random.nextDouble() < 0.1
+                            ? LOAN_DAYS + random.nextInt(1, 30)
+                            : random.nextInt(1, LOAN_DAYS + 1));
+                }
+                rows.add(new Object[]{
+                        firstHistoryId + i,
+                        bookId,
+                        userId,
+                        borrowDate,
+                        borrowDate.plusDays(LOAN_DAYS),
+                        returnDate,
+                        returned,
+                        returnApproved,
+                        userId,
+                        borrowDate
+                });
+            }
+            return Map.of(SeedTable.HISTORY, rows);
+        }
+
+        Map<SeedTable, List<Object[]>> feedbacks(int from, int to, SplittableRandom random) {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                rows.add(new Object[]{
+                        firstFeedbackId + i,
+                        book(random),
+                        note(random),
+                        COMMENTS[random.nextInt(COMMENTS.length)],
+                        user(random),
+                        daysAgo(random, 0, DAYS_OF_HISTORY)
+                });
+            }
+            return Map.of(SeedTable.FEEDBACK, rows);
+        }
+
+        private long book(SplittableRandom random) {
+            return firstBookId + bookByRank.apply(bookPopularity.sample(random) - 1);
+        }
+
+        private long user(SplittableRandom random) {
+            return firstUserId + userByRank.apply(userActivity.sample(random) - 1);
+        }
+
+        private LocalDateTime daysAgo(SplittableRandom random, int minDays, int maxDays) {
+            return now.minusMinutes(random.nextLong((long) minDays * 1440, (long) maxDays * 1440 + 1));
+        }
+    }
+
+    private static String authorName(int rank) {
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        int index = rank - 1;
+        String name = FIRST_NAMES[index % FIRST_NAMES.length] + " " + LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+        return index < combinations ? name : name + " " + (index / combinations + 1);
+    }
+
+    private static String isbn(long index) {
+        String digits = "978" + String.format("%09d", index % 1_000_000_000L);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    private static double note(SplittableRandom random) {
+        double ticket = random.nextDouble();
+        for (int i = 0; i < NOTE_WEIGHTS.length; i++) {
+            ticket -= NOTE_WEIGHTS[i];
+            if (ticket < 0) {
+                return i + 1;
+            }
+        }
+        return NOTE_WEIGHTS.length;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cagatayergunes.library.seed;
+
+import java.math.BigInteger;
+
+// Affine bijection over [0, n): spreads popularity ranks and open loans across the id range.
+record Permutation(long n, long multiplier, long offset) {
+
+    static Permutation of(long n, long salt) {
+        long multiplier = Math.max(1, (long) (n * 0.6180339887) | 1);
+        while (BigInteger.valueOf(multiplier).gcd(BigInteger.valueOf(n)).longValue() != 1) {
+            multiplier++;
+        }
+        return new Permutation(n, multiplier % n == 0 ? 1 : multiplier, Math.floorMod(salt, n));
+    }
+
+    long apply(long index) {
+        return Math.floorMod((index % n) * multiplier + offset, n);
+    }
+}
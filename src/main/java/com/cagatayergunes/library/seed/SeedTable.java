@@ -0,0 +1,28 @@
+package com.cagatayergunes.library.seed;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+enum SeedTable {
+
+    USER("_user", "_user_seq",
+            List.of("id", "first_name", "last_name", "email", "password", "account_locked", "enabled", "created_date")),
+    USER_ROLE("_user_roles", null,
+            List.of("users_id", "roles_id")),
+    BOOK("book", "book_seq",
+            List.of("id", "title", "author_name", "isbn", "synopsis", "genre", "publication_date", "shareable",
+                    "created_by", "created_date")),
+    HISTORY("book_transaction_history", "book_transaction_history_seq",
+            List.of("id", "book_id", "user_id", "borrow_date", "due_date", "return_date", "returned", "return_approved",
+                    "created_by", "created_date")),
+    FEEDBACK("feedback", "feedback_seq",
+            List.of("id", "book_id", "note", "comment", "created_by", "created_date"));
+
+    private final String tableName;
+    private final String sequence;
+    private final List<String> columns;
+}
@@ -18,6 +18,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -37,10 +38,13 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
 
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
     @Value("${application.mailing.frontend.activation-url}")
     private String activationUrl;
 
 
+    @Transactional
     public void register(RegistrationRequest request) throws MessagingException {
         log.info("Registering user: {}", request.getEmail());
         var userRole = roleRepository.findByName(RoleName.PATRON)
@@ -63,40 +67,53 @@ public class AuthenticationService {
         sendValidationEmail(user);
     }
 
+    public void queueActivationEmails(List<User> users) {
+        List<Token> tokens = users.stream().map(this::buildActivationToken).toList();
+        tokenRepository.saveAll(tokens);
+        tokens.forEach(token -> queueActivationEmail(token.getUser(), token.getToken()));
+        log.info("Activation emails queued for {} users", users.size());
+    }
+
     private void sendValidationEmail(User user) throws MessagingException {
         var newToken = generateAndSaveActivationToken(user);
+        queueActivationEmail(user, newToken);
+        log.info("Activation email queued for {}", user.getEmail());
+    }
 
+    private void queueActivationEmail(User user, String activationCode) {
         emailService.sendEmail(
                 user.getEmail(),
                 user.getFullName(),
                 EmailTemplateName.ACTIVATE_ACCOUNT,
                 activationUrl,
-                newToken,
+                activationCode,
                 "Account Activation"
         );
-        log.info("Activation email sent to {}", user.getEmail());
     }
 
     private String generateAndSaveActivationToken(User user){
-        String generatedToken = generateActivationCode(6);
-        var token = Token.builder()
-                .token(generatedToken)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusMinutes(15))
-                .user(user)
-                .build();
+        var token = buildActivationToken(user);
         tokenRepository.save(token);
 
         log.debug("Activation token saved for user: {}", user.getEmail());
-        return generatedToken;
+        return token.getToken();
+    }
+
+    private Token buildActivationToken(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        return Token.builder()
+                .token(generateActivationCode(6))
+                .createdAt(now)
+                .expiresAt(now.plusMinutes(15))
+                .user(user)
+                .build();
     }
 
     private String generateActivationCode(int length){
         String characters = "0123456789";
         StringBuilder codeBuilder = new StringBuilder();
-        SecureRandom secureRandom = new SecureRandom();
         for(int i = 0 ; i< length ; i++){
-            int randomIndex = secureRandom.nextInt(characters.length());
+            int randomIndex = SECURE_RANDOM.nextInt(characters.length());
             codeBuilder.append(characters.charAt(randomIndex));
         }
         return codeBuilder.toString();
@@ -124,6 +141,7 @@ public class AuthenticationService {
                 .token(jwt).build();
     }
 
+    @Transactional(noRollbackFor = OperationNotPermittedException.class)
     public void activateAccount(String token) throws MessagingException {
         log.info("Activating account using token: {}", token);
         Token savedToken = tokenRepository.findByToken(token)
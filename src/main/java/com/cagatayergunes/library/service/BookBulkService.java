@@ -0,0 +1,103 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.request.BulkBookRequest;
+import com.cagatayergunes.library.model.response.BulkUpdateResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookBulkService {
+
+    private final BookRepository bookRepository;
+    private final BookChangeService bookChangeService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${application.books.bulk-batch-size:500}")
+    private int batchSize;
+
+    public BulkUpdateResponse toggleShareable(BulkBookRequest request, Authentication connectedUser) {
+        return apply("toggle-shareable", request, connectedUser, bookRepository::toggleShareable);
+    }
+
+    public BulkUpdateResponse withdraw(BulkBookRequest request, Authentication connectedUser) {
+        return apply("withdraw", request, connectedUser, bookRepository::withdraw);
+    }
+
+    public BulkUpdateResponse retag(BulkBookRequest request, Authentication connectedUser) {
+        if (request.newGenre() == null || request.newGenre().isBlank()) {
+            throw new OperationNotPermittedException("A new genre is required to retag books");
+        }
+        return apply("retag-genre", request, connectedUser,
+                (bookIds, modifiedAt, modifiedBy) -> bookRepository.retag(bookIds, request.newGenre(), modifiedAt, modifiedBy));
+    }
+
+    private BulkUpdateResponse apply(String operation, BulkBookRequest request, Authentication connectedUser, BulkUpdate update) {
+        if (!request.hasFilter()) {
+            throw new OperationNotPermittedException("Bulk updates need at least one filter");
+        }
+        Long modifiedBy = ((User) connectedUser.getPrincipal()).getId();
+        log.info("Bulk {} requested by user {}: genre='{}', author='{}', shareable={}",
+                operation, modifiedBy, request.genre(), request.authorName(), request.shareable());
+
+        long after = 0;
+        long updated = 0;
+        int batches = 0;
+        while (true) {
+            long cursor = after;
+            BatchResult result = transactionTemplate.execute(status -> {
+                // The change sequence is locked first, as every single-book write does, and the matching rows stay
+                // locked until the update commits. A concurrent edit either commits before the batch is selected
+                // and is re-checked against the filter, or waits for the batch and reads its result.
+                bookChangeService.lockSequence();
+                List<Long> batch = bookRepository.findIdsMatchingForUpdate(cursor, request.genre(), request.authorName(),
+                        request.shareable(), Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    return new BatchResult(batch, 0);
+                }
+                int count = update.apply(batch, LocalDateTime.now(), modifiedBy);
+                bookChangeService.recordAll(batch, BookChangeType.UPDATED);
+                return new BatchResult(batch, count);
+            });
+            List<Long> bookIds = result.bookIds();
+            if (bookIds.isEmpty()) {
+                break;
+            }
+            bookIds.forEach(bookId -> entityManagerFactory.getCache().evict(Book.class, bookId));
+            updated += result.updated();
+            batches++;
+            after = bookIds.get(bookIds.size() - 1);
+        }
+
+        log.info("Bulk {} updated {} books in {} batches", operation, updated, batches);
+        return BulkUpdateResponse.builder()
+                .operation(operation)
+                .updated(updated)
+                .batches(batches)
+                .build();
+    }
+
+    private record BatchResult(List<Long> bookIds, int updated) {
+    }
+
+    @FunctionalInterface
+    private interface BulkUpdate {
+        int apply(List<Long> bookIds, LocalDateTime modifiedAt, Long modifiedBy);
+    }
+}
@@ -0,0 +1,111 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChange;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.ChangeSequence;
+import com.cagatayergunes.library.repository.BookChangeRepository;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.ChangeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookChangeService {
+
+    static final String BOOK_CHANGES = "book_changes";
+
+    private final BookChangeRepository changeRepository;
+    private final ChangeSequenceRepository sequenceRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Book writers lock the change sequence before any book row, in the same order as a bulk batch, so the two
+    // never deadlock. The book is then read under a row lock rather than from the second-level cache, so a write
+    // never puts back values that a bulk update committed in the meantime.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Book> findBookForUpdate(Long bookId) {
+        lockSequence();
+        return bookRepository.findByIdForUpdate(bookId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockSequence() {
+        sequenceRepository.findForUpdate(BOOK_CHANGES)
+                .orElseThrow(() -> new IllegalStateException("The book change sequence is not initialized"));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long bookId, BookChangeType type) {
+        recordAll(List.of(bookId), type);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Long> bookIds, BookChangeType type) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        ChangeSequence sequence = sequenceRepository.findForUpdate(BOOK_CHANGES)
+                .orElseThrow(() -> new IllegalStateException("The book change sequence is not initialized"));
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<BookChange> changes = new ArrayList<>(bookIds.size());
+        long next = sequence.getLastSequence();
+        for (Long bookId : bookIds) {
+            changes.add(BookChange.builder()
+                    .sequence(++next)
+                    .bookId(bookId)
+                    .type(type)
+                    .changedAt(changedAt)
+                    .build());
+        }
+        sequence.setLastSequence(next);
+        changeRepository.saveAll(changes);
+        log.debug("Recorded {} {} changes up to {}", changes.size(), type, next);
+    }
+
+    // Books bulk loaded outside of JPA, like the seeded dataset, get their CREATED changes in one statement.
+    // Until the feed is initialized there is nothing to append to, and the startup backfill covers them instead.
+    @Transactional
+    public boolean recordCreatedRange(long firstBookId, long lastBookId) {
+        ChangeSequence sequence = sequenceRepository.findForUpdate(BOOK_CHANGES).orElse(null);
+        if (sequence == null) {
+            return false;
+        }
+        long offset = sequence.getLastSequence() - firstBookId + 1;
+        int recorded = changeRepository.recordRange(firstBookId, lastBookId, offset, BookChangeType.CREATED, LocalDateTime.now());
+        sequence.setLastSequence(lastBookId + offset);
+        log.info("Recorded {} CREATED changes up to {}", recorded, sequence.getLastSequence());
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (sequenceRepository.existsById(BOOK_CHANGES)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long start = bookRepository.findMaxId();
+                int backfilled = changeRepository.backfill(BookChangeType.CREATED, LocalDateTime.now());
+                sequenceRepository.save(ChangeSequence.builder().name(BOOK_CHANGES).lastSequence(start).build());
+                log.info("Initialized book change feed at {} with {} existing books", start, backfilled);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("Book change feed was initialized concurrently: {}", e.getMessage());
+        }
+    }
+}
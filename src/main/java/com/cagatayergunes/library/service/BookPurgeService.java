@@ -0,0 +1,73 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookPurgeService {
+
+    private final BookRepository bookRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final BookTransactionHistoryRepository historyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.books.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${application.books.purge-books-per-run:20}")
+    private int booksPerRun;
+
+    @Scheduled(fixedDelayString = "${application.books.purge-interval:30000}")
+    public void purgeDeletedBooks() {
+        List<Long> bookIds = bookRepository.findDeletedBookIds(Limit.of(booksPerRun));
+        for (Long bookId : bookIds) {
+            try {
+                purge(bookId);
+            } catch (RuntimeException e) {
+                log.warn("Purge of book {} failed, it will be retried: {}", bookId, e.getMessage());
+            }
+        }
+    }
+
+    void purge(Long bookId) {
+        long feedbacks = deleteInBatches(bookId, feedbackRepository, feedbackRepository::findIdsByBookId);
+        long histories = deleteInBatches(bookId, historyRepository, historyRepository::findIdsByBookId);
+        Integer books = transactionTemplate.execute(status -> bookRepository.deleteSoftDeleted(bookId));
+        log.info("Purged book {}: {} feedbacks, {} history rows, {} book rows", bookId, feedbacks, histories, books);
+    }
+
+    private long deleteInBatches(Long bookId, JpaRepository<?, Long> repository, BatchFinder finder) {
+        long deleted = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = finder.findIdsByBookId(bookId, Limit.of(batchSize));
+                if (!batch.isEmpty()) {
+                    repository.deleteAllByIdInBatch(batch);
+                }
+                return batch;
+            });
+            deleted += ids.size();
+            if (ids.size() < batchSize) {
+                return deleted;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchFinder {
+        List<Long> findIdsByBookId(Long bookId, Limit limit);
+    }
+}
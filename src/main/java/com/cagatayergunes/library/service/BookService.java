@@ -2,39 +2,55 @@ package com.cagatayergunes.library.service;
 
 import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
 import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChange;
+import com.cagatayergunes.library.model.BookChangeType;
 import com.cagatayergunes.library.model.BookTransactionHistory;
 import com.cagatayergunes.library.model.RoleName;
 import com.cagatayergunes.library.model.User;
 import com.cagatayergunes.library.model.mapper.BookMapper;
 import com.cagatayergunes.library.model.request.BookRequest;
+import com.cagatayergunes.library.model.response.BookChangesResponse;
 import com.cagatayergunes.library.model.response.BookResponse;
 import com.cagatayergunes.library.model.response.BorrowedBookResponse;
 import com.cagatayergunes.library.model.response.PageResponse;
+import com.cagatayergunes.library.repository.BookChangeRepository;
 import com.cagatayergunes.library.repository.BookRepository;
 import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookService {
 
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookTransactionHistoryRepository bookTransactionHistoryRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final BookChangeRepository bookChangeRepository;
+    private final BookChangeService bookChangeService;
 
+    @Transactional
     public Long save(BookRequest request) {
         log.info("Saving new book: {}", request.title());
         Book book = bookMapper.toBook(request);
         Long id = bookRepository.save(book).getId();
+        bookChangeService.record(id, BookChangeType.CREATED);
         log.info("Book saved with ID: {}", id);
         return id;
     }
@@ -42,7 +58,8 @@ public class BookService {
     public BookResponse findById(Long bookId) {
         log.info("Finding book by ID: {}", bookId);
         return bookRepository.findById(bookId)
-                .map(bookMapper::toBookResponse)
+                .filter(book -> !book.isDeleted())
+                .map(book -> bookMapper.toBookResponse(book, feedbackRepository.findAverageRate(bookId)))
                 .orElseThrow(() -> {
                     log.error("Book not found with ID: {}", bookId);
                     return new EntityNotFoundException("No book found with the id");
@@ -53,11 +70,41 @@ public class BookService {
         log.info("Fetching all books, page: {}, size: {}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
         Page<Book> books = bookRepository.findAllDisplayableBooks(pageable);
-        List<BookResponse> bookResponse = books.stream().map(bookMapper::toBookResponse).toList();
+        List<BookResponse> bookResponse = toBookResponses(books.getContent());
         log.info("Fetched {} books", bookResponse.size());
         return new PageResponse<>(bookResponse, books.getNumber(), books.getSize(), books.getTotalElements(), books.getTotalPages(), books.isFirst(), books.isLast());
     }
 
+    public BookChangesResponse findChanges(long since, int size) {
+        log.info("Fetching book changes since {}, size: {}", since, size);
+        List<BookChange> changes = bookChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(size + 1));
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+
+        Map<Long, BookChangeType> latestChanges = new LinkedHashMap<>();
+        changes.forEach(change -> latestChanges.put(change.getBookId(), change.getType()));
+        List<Long> changedIds = latestChanges.entrySet().stream()
+                .filter(change -> change.getValue() != BookChangeType.DELETED)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<Book> books = bookRepository.findAllById(changedIds).stream()
+                .filter(book -> !book.isDeleted())
+                .toList();
+        Set<Long> existingIds = books.stream().map(Book::getId).collect(Collectors.toSet());
+        List<Long> deletedIds = latestChanges.keySet().stream()
+                .filter(bookId -> !existingIds.contains(bookId))
+                .toList();
+
+        return BookChangesResponse.builder()
+                .books(toBookResponses(books))
+                .deletedBookIds(deletedIds)
+                .cursor(changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence())
+                .hasMore(hasMore)
+                .build();
+    }
+
     public PageResponse<BorrowedBookResponse> findAllBorrowedBooks(int page, int size, Authentication connectedUser) {
         User user = getAuthenticatedUser(connectedUser);
         boolean isLibrarian = isLibrarian(user);
@@ -69,7 +116,7 @@ public class BookService {
         } else{
             result = bookTransactionHistoryRepository.findAllBorrowedBooks(pageable, user.getId());
         }
-        List<BorrowedBookResponse> responses = result.stream().map(bookMapper::toBorrowedBookResponse).toList();
+        List<BorrowedBookResponse> responses = toBorrowedBookResponses(result.getContent());
         log.info("User {} has {} borrowed books", user.getUsername(), responses.size());
         return new PageResponse<>(responses, result.getNumber(), result.getSize(), result.getTotalElements(), result.getTotalPages(), result.isFirst(), result.isLast());
     }
@@ -87,33 +134,38 @@ public class BookService {
             result = bookTransactionHistoryRepository.findAllReturnedBooks(pageable, user.getId());
         }
 
-        List<BorrowedBookResponse> responses = result.stream().map(bookMapper::toBorrowedBookResponse).toList();
+        List<BorrowedBookResponse> responses = toBorrowedBookResponses(result.getContent());
         log.info("User {} has {} returned books", user.getUsername(), responses.size());
         return new PageResponse<>(responses, result.getNumber(), result.getSize(), result.getTotalElements(), result.getTotalPages(), result.isFirst(), result.isLast());
     }
 
+    @Transactional
     public BookResponse updateBook(Long bookId, BookRequest request) {
         log.info("Updating book with ID: {}", bookId);
-        Book book = getBookByIdOrThrow(bookId);
+        Book book = getBookForUpdateOrThrow(bookId);
         book.setTitle(request.title());
         book.setAuthorName(request.authorName());
         book.setIsbn(request.isbn());
         book.setSynopsis(request.synopsis());
         book.setShareable(request.shareable());
         Book updatedBook = bookRepository.save(book);
+        bookChangeService.record(bookId, BookChangeType.UPDATED);
         log.info("Book with ID {} updated successfully", bookId);
-        return bookMapper.toBookResponse(updatedBook);
+        return bookMapper.toBookResponse(updatedBook, feedbackRepository.findAverageRate(bookId));
     }
 
+    @Transactional
     public BookResponse updateShareableStatus(Long bookId) {
         log.info("Toggling shareable status for book ID: {}", bookId);
-        Book book = getBookByIdOrThrow(bookId);
+        Book book = getBookForUpdateOrThrow(bookId);
         book.setShareable(!book.isShareable());
         bookRepository.save(book);
+        bookChangeService.record(bookId, BookChangeType.UPDATED);
         log.info("Shareable status updated to {} for book ID {}", book.isShareable(), bookId);
-        return bookMapper.toBookResponse(book);
+        return bookMapper.toBookResponse(book, feedbackRepository.findAverageRate(bookId));
     }
 
+    @Transactional
     public BorrowedBookResponse borrowBook(Long bookId, Authentication connectedUser) {
         log.info("User attempting to borrow book ID: {}", bookId);
         Book book = getBookByIdOrThrow(bookId);
@@ -140,9 +192,10 @@ public class BookService {
 
         bookTransactionHistoryRepository.save(history);
         log.info("Book borrowed successfully: bookId={}, user={}", bookId, user.getUsername());
-        return bookMapper.toBorrowedBookResponse(history);
+        return bookMapper.toBorrowedBookResponse(history, feedbackRepository.findAverageRate(bookId));
     }
 
+    @Transactional
     public BorrowedBookResponse returnBorrowedBook(Long bookId) {
         log.info("Returning borrowed book: {}", bookId);
         Book book = getBookByIdOrThrow(bookId);
@@ -163,11 +216,12 @@ public class BookService {
         long lateDays = calculateLateDays(history.getDueDate());
 
         log.info("Book returned: {}, lateDays={}", bookId, lateDays);
-        BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(history);
+        BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(history, feedbackRepository.findAverageRate(bookId));
         response.setLateDays(lateDays);
         return response;
     }
 
+    @Transactional
     public BorrowedBookResponse approveReturnBorrowedBook(Long bookId) {
         log.info("Approving return of book: {}", bookId);
         Book book = getBookByIdOrThrow(bookId);
@@ -193,7 +247,7 @@ public class BookService {
         }
 
         log.info("Book return approved: {}, lateDays={}", bookId, lateDays);
-        BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(history);
+        BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(history, feedbackRepository.findAverageRate(bookId));
         response.setLateDays(lateDays);
         return response;
     }
@@ -202,26 +256,27 @@ public class BookService {
         log.info("Searching books: title='{}', author='{}', isbn='{}', genre='{}'", title, authorName, isbn, genre);
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
 
-        Page<Book> books = bookRepository.findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCase(title, authorName, isbn, genre, pageable);
-        List<BookResponse> responses = books.getContent().stream().map(bookMapper::toBookResponse).toList();
+        Page<Book> books = bookRepository.findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCaseAndDeletedAtIsNull(title, authorName, isbn, genre, pageable);
+        List<BookResponse> responses = toBookResponses(books.getContent());
 
         log.info("Found {} books matching search criteria", responses.size());
         return new PageResponse<>(responses, books.getNumber(), books.getSize(), books.getTotalElements(), books.getTotalPages(), books.isFirst(), books.isLast());
     }
 
+    @Transactional
     public void deleteBook(Long bookId) {
         log.info("Deleting book ID: {}", bookId);
-        Book book = getBookByIdOrThrow(bookId);
+        Book book = getBookForUpdateOrThrow(bookId);
 
-        bookRepository.delete(book);
-        log.info("Book deleted: {}", bookId);
+        book.setDeletedAt(LocalDateTime.now());
+        bookRepository.save(book);
+        bookChangeService.record(bookId, BookChangeType.DELETED);
+        log.info("Book deleted: {}, feedback and history will be purged in the background", bookId);
     }
 
     public String generateOverdueBooksReport() {
         log.info("Generating overdue books report...");
-        List<BookTransactionHistory> overdueHistories = bookTransactionHistoryRepository.findAll().stream()
-                .filter(history -> !history.isReturned() && history.getDueDate().isBefore(LocalDateTime.now()))
-                .toList();
+        List<BookTransactionHistory> overdueHistories = bookTransactionHistoryRepository.findAllOverdue(LocalDateTime.now());
 
         if (overdueHistories.isEmpty()) {
             log.info("No overdue books found");
@@ -245,8 +300,30 @@ public class BookService {
         return reportBuilder.toString();
     }
 
+    private List<BookResponse> toBookResponses(List<Book> books) {
+        Map<Long, Double> rates = feedbackRepository.findAverageRatesByBookIds(books.stream().map(Book::getId).toList());
+        return books.stream()
+                .map(book -> bookMapper.toBookResponse(book, rates.getOrDefault(book.getId(), 0.0)))
+                .toList();
+    }
+
+    private List<BorrowedBookResponse> toBorrowedBookResponses(List<BookTransactionHistory> histories) {
+        Map<Long, Double> rates = feedbackRepository.findAverageRatesByBookIds(
+                histories.stream().map(history -> history.getBook().getId()).distinct().toList());
+        return histories.stream()
+                .map(history -> bookMapper.toBorrowedBookResponse(history, rates.getOrDefault(history.getBook().getId(), 0.0)))
+                .toList();
+    }
+
     private Book getBookByIdOrThrow(Long bookId) {
         return bookRepository.findById(bookId)
+                .filter(book -> !book.isDeleted())
+                .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
+    }
+
+    private Book getBookForUpdateOrThrow(Long bookId) {
+        return bookChangeService.findBookForUpdate(bookId)
+                .filter(book -> !book.isDeleted())
                 .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
     }
 
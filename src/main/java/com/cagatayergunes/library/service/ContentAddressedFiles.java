@@ -0,0 +1,121 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+final class ContentAddressedFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    record Upload(String hash, String contentType, long size, boolean deduplicated) {
+    }
+
+    private ContentAddressedFiles() {
+    }
+
+    static Upload store(
+            MultipartFile file,
+            Path directory,
+            DataSize maxSize,
+            int signatureLength,
+            Function<byte[], String> contentTypes,
+            String unsupportedMessage
+    ) throws IOException {
+        Path incoming = directory.resolve("incoming");
+        Files.createDirectories(incoming);
+        Path temporary = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            byte[] signature = new byte[signatureLength];
+            long size = copy(file, temporary, digest, signature, maxSize);
+            String contentType = contentTypes.apply(signature);
+            if (contentType == null) {
+                throw new OperationNotPermittedException(unsupportedMessage);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            return new Upload(hash, contentType, size, move(temporary, path(directory, hash)));
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static Path path(Path directory, String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    static byte[] readSignature(Path file, int signatureLength) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.readNBytes(signatureLength);
+        }
+    }
+
+    private static long copy(MultipartFile file, Path target, MessageDigest digest, byte[] signature, DataSize maxSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+        try (InputStream input = file.getInputStream();
+             ReadableByteChannel source = Channels.newChannel(input);
+             FileChannel channel = FileChannel.open(target, WRITE)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                if (size < signature.length) {
+                    buffer.get(0, signature, (int) size, (int) Math.min(signature.length - size, buffer.remaining()));
+                }
+                size += buffer.remaining();
+                if (size > maxSize.toBytes()) {
+                    throw new OperationNotPermittedException("Uploads must not be larger than " + maxSize.toMegabytes() + "MB.");
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return size;
+    }
+
+    private static boolean move(Path temporary, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return true;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temporary, target, ATOMIC_MOVE);
+            return false;
+        } catch (FileAlreadyExistsException e) {
+            return true;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
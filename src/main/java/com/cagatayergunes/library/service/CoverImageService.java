@@ -0,0 +1,208 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.response.CoverImageResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+@Slf4j
+@Service
+public class CoverImageService {
+
+    private static final int SIGNATURE_LENGTH = 8;
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+
+    private final BookRepository bookRepository;
+    private final BookChangeService bookChangeService;
+    private final TaskExecutor thumbnailExecutor;
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    @Value("${application.covers.directory:${java.io.tmpdir}/library-covers}")
+    private Path coverDirectory;
+
+    @Value("${application.covers.max-size:5MB}")
+    private DataSize maxSize;
+
+    @Value("${application.covers.thumbnail-size:240}")
+    private int thumbnailSize;
+
+    @Value("${application.covers.max-pixels:40000000}")
+    private long maxPixels;
+
+    public CoverImageService(
+            BookRepository bookRepository,
+            BookChangeService bookChangeService,
+            @Qualifier("thumbnailExecutor") TaskExecutor thumbnailExecutor
+    ) {
+        this.bookRepository = bookRepository;
+        this.bookChangeService = bookChangeService;
+        this.thumbnailExecutor = thumbnailExecutor;
+    }
+
+    @Transactional
+    public CoverImageResponse upload(Long bookId, MultipartFile file) throws IOException {
+        ContentAddressedFiles.Upload upload = ContentAddressedFiles.store(file, coverDirectory, maxSize, SIGNATURE_LENGTH,
+                this::detectContentType, "Cover images must be JPEG, PNG or GIF files.");
+        Book book = bookChangeService.findBookForUpdate(bookId)
+                .filter(found -> !found.isDeleted())
+                .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
+        book.setCoverImage(upload.hash());
+        bookRepository.save(book);
+        bookChangeService.record(bookId, BookChangeType.UPDATED);
+        scheduleThumbnail(upload.hash());
+        log.info("Book {} cover set to {} ({} bytes{})", bookId, upload.hash(), upload.size(), upload.deduplicated() ? ", deduplicated" : "");
+
+        return CoverImageResponse.builder()
+                .bookId(bookId)
+                .coverImage(upload.hash())
+                .contentType(upload.contentType())
+                .size(upload.size())
+                .deduplicated(upload.deduplicated())
+                .build();
+    }
+
+    public StoredFile getCover(String hash, boolean thumbnail) throws IOException {
+        if (!ContentAddressedFiles.isHash(hash)) {
+            throw new EntityNotFoundException("No cover image found with the hash " + hash);
+        }
+        Path original = originalPath(hash);
+        if (!Files.isReadable(original)) {
+            throw new EntityNotFoundException("No cover image found with the hash " + hash);
+        }
+        if (thumbnail) {
+            Path thumbnailPath = thumbnailPath(hash);
+            if (Files.isReadable(thumbnailPath)) {
+                return new StoredFile(thumbnailPath, THUMBNAIL_CONTENT_TYPE, "\"" + hash + "-thumbnail\"", true);
+            }
+            scheduleThumbnail(hash);
+            return new StoredFile(original, readContentType(original), "\"" + hash + "\"", false);
+        }
+        return new StoredFile(original, readContentType(original), "\"" + hash + "\"", true);
+    }
+
+    void generateThumbnail(String hash) {
+        Path source = originalPath(hash);
+        Path target = thumbnailPath(hash);
+        try {
+            if (Files.exists(target)) {
+                return;
+            }
+            BufferedImage image = readImage(source);
+            if (image == null) {
+                return;
+            }
+            double scale = Math.min(1.0, Math.min((double) thumbnailSize / image.getWidth(), (double) thumbnailSize / image.getHeight()));
+            int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
+            ImageIO.write(scaled, "jpg", partial.toFile());
+            Files.move(partial, target, REPLACE_EXISTING, ATOMIC_MOVE);
+            log.debug("Generated {}x{} thumbnail for cover {}", width, height, hash);
+        } catch (IOException e) {
+            log.warn("Could not generate thumbnail for cover {}: {}", hash, e.getMessage());
+        } finally {
+            pendingThumbnails.remove(hash);
+        }
+    }
+
+    private BufferedImage readImage(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                log.warn("Cover {} is not a readable image", source.getFileName());
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    log.warn("Cover {} is {}x{}, too large for a thumbnail", source.getFileName(), reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void scheduleThumbnail(String hash) {
+        if (Files.exists(thumbnailPath(hash)) || !pendingThumbnails.add(hash)) {
+            return;
+        }
+        try {
+            thumbnailExecutor.execute(() -> generateThumbnail(hash));
+        } catch (TaskRejectedException e) {
+            pendingThumbnails.remove(hash);
+            log.warn("Thumbnail for cover {} rejected, it will be retried on the next request: {}", hash, e.getMessage());
+        }
+    }
+
+    private String readContentType(Path file) throws IOException {
+        String contentType = detectContentType(ContentAddressedFiles.readSignature(file, SIGNATURE_LENGTH));
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    private String detectContentType(byte[] signature) {
+        if (signature.length >= 3 && (signature[0] & 0xFF) == 0xFF && (signature[1] & 0xFF) == 0xD8 && (signature[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (signature.length >= 8 && Arrays.equals(signature, 0, 8,
+                new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}, 0, 8)) {
+            return "image/png";
+        }
+        if (signature.length >= 6) {
+            String header = new String(signature, 0, 6, US_ASCII);
+            if (header.equals("GIF87a") || header.equals("GIF89a")) {
+                return "image/gif";
+            }
+        }
+        return null;
+    }
+
+    private Path originalPath(String hash) {
+        return ContentAddressedFiles.path(coverDirectory, hash);
+    }
+
+    private Path thumbnailPath(String hash) {
+        return coverDirectory.resolve(hash.substring(0, 2)).resolve(hash + "-thumbnail.jpg");
+    }
+}
@@ -0,0 +1,28 @@
+package com.cagatayergunes.library.service;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class EbookDownload implements AutoCloseable {
+
+    @Getter
+    private final StoredFile file;
+    @Getter
+    private final String fileName;
+    private final Runnable release;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    EbookDownload(StoredFile file, String fileName, Runnable release) {
+        this.file = file;
+        this.fileName = fileName;
+        this.release = release;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            release.run();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.DownloadLimitExceededException;
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.response.EbookResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EbookService {
+
+    private static final int SIGNATURE_LENGTH = 58;
+    private static final byte[] PDF = "%PDF-".getBytes(US_ASCII);
+    private static final byte[] ZIP = {'P', 'K', 3, 4};
+    private static final byte[] EPUB_MIMETYPE = "mimetypeapplication/epub+zip".getBytes(US_ASCII);
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+    private static final String EPUB_CONTENT_TYPE = "application/epub+zip";
+
+    private final BookRepository bookRepository;
+    private final BookTransactionHistoryRepository historyRepository;
+    private final BookChangeService bookChangeService;
+    private final ConcurrentMap<Long, Semaphore> downloadPermits = new ConcurrentHashMap<>();
+
+    @Value("${application.ebooks.directory:${java.io.tmpdir}/library-ebooks}")
+    private Path ebookDirectory;
+
+    @Value("${application.ebooks.max-size:50MB}")
+    private DataSize maxSize;
+
+    @Value("${application.ebooks.concurrent-downloads:2}")
+    private int concurrentDownloads;
+
+    @Transactional
+    public EbookResponse upload(Long bookId, MultipartFile file) throws IOException {
+        ContentAddressedFiles.Upload upload = ContentAddressedFiles.store(file, ebookDirectory, maxSize, SIGNATURE_LENGTH,
+                this::detectContentType, "Digital copies must be PDF or EPUB files.");
+        Book book = bookChangeService.findBookForUpdate(bookId)
+                .filter(found -> !found.isDeleted())
+                .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
+        book.setEbookFile(upload.hash());
+        bookRepository.save(book);
+        bookChangeService.record(bookId, BookChangeType.UPDATED);
+        log.info("Book {} digital copy set to {} ({} bytes{})", bookId, upload.hash(), upload.size(), upload.deduplicated() ? ", deduplicated" : "");
+
+        return EbookResponse.builder()
+                .bookId(bookId)
+                .ebookFile(upload.hash())
+                .contentType(upload.contentType())
+                .size(upload.size())
+                .deduplicated(upload.deduplicated())
+                .build();
+    }
+
+    public EbookDownload openDownload(Long bookId, Authentication connectedUser) throws IOException {
+        User user = (User) connectedUser.getPrincipal();
+        Book book = getBookByIdOrThrow(bookId);
+        if (book.getEbookFile() == null) {
+            throw new EntityNotFoundException("The book " + bookId + " has no digital copy");
+        }
+        if (!historyRepository.hasActiveLoan(bookId, user.getId())) {
+            throw new OperationNotPermittedException("You can only download books you are currently borrowing.");
+        }
+        Path path = ContentAddressedFiles.path(ebookDirectory, book.getEbookFile());
+        if (!Files.isReadable(path)) {
+            throw new EntityNotFoundException("The digital copy of book " + bookId + " is no longer available");
+        }
+        String contentType = detectContentType(ContentAddressedFiles.readSignature(path, SIGNATURE_LENGTH));
+
+        Semaphore permits = acquireDownloadPermit(user.getId());
+        StoredFile file = new StoredFile(path, contentType != null ? contentType : "application/octet-stream",
+                "\"" + book.getEbookFile() + "\"", false);
+        return new EbookDownload(file, fileName(book, contentType), () -> releaseDownloadPermit(user.getId(), permits));
+    }
+
+    private Semaphore acquireDownloadPermit(Long userId) {
+        while (true) {
+            Semaphore permits = downloadPermits.computeIfAbsent(userId, id -> new Semaphore(concurrentDownloads));
+            if (!permits.tryAcquire()) {
+                log.warn("User {} exceeded {} concurrent downloads", userId, concurrentDownloads);
+                throw new DownloadLimitExceededException("You already have " + concurrentDownloads + " downloads in progress.");
+            }
+            // A semaphore released to idle is dropped from the map, so retry with the one now registered.
+            if (downloadPermits.get(userId) == permits) {
+                return permits;
+            }
+            permits.release();
+        }
+    }
+
+    private void releaseDownloadPermit(Long userId, Semaphore permits) {
+        permits.release();
+        downloadPermits.computeIfPresent(userId,
+                (id, current) -> current == permits && current.availablePermits() == concurrentDownloads ? null : current);
+    }
+
+    int trackedDownloadUsers() {
+        return downloadPermits.size();
+    }
+
+    private String fileName(Book book, String contentType) {
+        String title = book.getTitle() == null ? "book-" + book.getId() : book.getTitle().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        return title + (EPUB_CONTENT_TYPE.equals(contentType) ? ".epub" : ".pdf");
+    }
+
+    private String detectContentType(byte[] signature) {
+        if (startsWith(signature, 0, PDF)) {
+            return PDF_CONTENT_TYPE;
+        }
+        if (startsWith(signature, 0, ZIP) && startsWith(signature, 30, EPUB_MIMETYPE)) {
+            return EPUB_CONTENT_TYPE;
+        }
+        return null;
+    }
+
+    private boolean startsWith(byte[] signature, int offset, byte[] prefix) {
+        return signature.length >= offset + prefix.length
+                && Arrays.equals(signature, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private Book getBookByIdOrThrow(Long bookId) {
+        return bookRepository.findById(bookId)
+                .filter(book -> !book.isDeleted())
+                .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
+    }
+}
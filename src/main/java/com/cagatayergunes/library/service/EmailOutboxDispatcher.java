@@ -0,0 +1,199 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.jfr.EmailDispatchEvent;
+import com.cagatayergunes.library.model.EmailOutbox;
+import com.cagatayergunes.library.model.EmailOutboxStatus;
+import com.cagatayergunes.library.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.lang.NonNull;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher implements MeterBinder {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong deadLetteredCount = new AtomicLong();
+
+    @Value("${application.mailing.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.mailing.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${application.mailing.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${application.mailing.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${application.mailing.outbox.send-lease:5m}")
+    private Duration sendLease;
+
+    @Scheduled(fixedDelayString = "${application.mailing.outbox.poll-interval:5000}")
+    public void drain() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    int dispatchBatch() {
+        // Rows are claimed in a short transaction by pushing next_attempt_at past the send, so no connection or row
+        // lock is held during the SMTP exchange. Rows of a dispatcher that dies mid-send become due again with the lease.
+        LocalDateTime leasedUntil = LocalDateTime.now().plus(sendLease).truncatedTo(ChronoUnit.MILLIS);
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> claimBatch(leasedUntil));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        EmailDispatchEvent event = new EmailDispatchEvent();
+        event.begin();
+
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox outbox : batch) {
+            try {
+                messages.put(emailService.buildMessage(outbox), outbox);
+            } catch (MessagingException e) {
+                failures.put(outbox.getId(), e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(outbox -> failures.put(outbox.getId(), e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message).getId(), cause));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(outbox -> failures.put(outbox.getId(), e));
+            }
+        }
+
+        List<Long> ids = batch.stream().map(EmailOutbox::getId).toList();
+        Integer recorded = transactionTemplate.execute(status -> recordResults(ids, failures, leasedUntil));
+        int sent = recorded == null ? 0 : recorded;
+        sentCount.addAndGet(sent);
+        if (event.shouldCommit()) {
+            event.setFirstOutboxId(ids.get(0));
+            event.setQueued(batch.size());
+            event.setSent(sent);
+            event.setFailed(batch.size() - sent);
+            event.commit();
+        }
+
+        long elapsedMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        log.info("Dispatched {} of {} queued emails in {} ms ({} msg/s)",
+                sent, batch.size(), elapsedMillis, sent * 1000L / elapsedMillis);
+        return batch.size();
+    }
+
+    private List<EmailOutbox> claimBatch(LocalDateTime leasedUntil) {
+        List<EmailOutbox> batch = emailOutboxRepository.findDueForDispatch(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        batch.forEach(outbox -> outbox.setNextAttemptAt(leasedUntil));
+        return emailOutboxRepository.saveAll(batch);
+    }
+
+    private int recordResults(List<Long> ids, Map<Long, Exception> failures, LocalDateTime leasedUntil) {
+        List<EmailOutbox> leased = emailOutboxRepository.findLeasedForUpdate(ids, leasedUntil);
+        if (leased.size() < ids.size()) {
+            log.warn("{} of {} emails outlived their {} send lease and were left for the next attempt",
+                    ids.size() - leased.size(), ids.size(), sendLease);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int sent = 0;
+        for (EmailOutbox outbox : leased) {
+            Exception failure = failures.get(outbox.getId());
+            if (failure != null) {
+                markFailed(outbox, failure);
+            } else {
+                outbox.setStatus(EmailOutboxStatus.SENT);
+                outbox.setAttempts(outbox.getAttempts() + 1);
+                outbox.setSentAt(now);
+                outbox.setLastError(null);
+                sent++;
+            }
+        }
+        emailOutboxRepository.saveAll(leased);
+        return sent;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    public long getDeadLetteredCount() {
+        return deadLetteredCount.get();
+    }
+
+    public long getPendingCount() {
+        return emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("library.email.outbox.pending", this, EmailOutboxDispatcher::getPendingCount)
+                .description("Emails waiting in the outbox")
+                .register(registry);
+        FunctionCounter.builder("library.email.outbox.sent", sentCount, AtomicLong::get).register(registry);
+        FunctionCounter.builder("library.email.outbox.retried", retriedCount, AtomicLong::get).register(registry);
+        FunctionCounter.builder("library.email.outbox.dead", deadLetteredCount, AtomicLong::get).register(registry);
+    }
+
+    private void markFailed(EmailOutbox outbox, Exception cause) {
+        int attempts = outbox.getAttempts() + 1;
+        outbox.setAttempts(attempts);
+        outbox.setLastError(cause.getMessage());
+
+        if (attempts >= maxAttempts) {
+            log.error("Email {} to {} dead-lettered after {} attempts: {}", outbox.getId(), outbox.getRecipient(), attempts, cause.getMessage());
+            outbox.setStatus(EmailOutboxStatus.DEAD);
+            deadLetteredCount.incrementAndGet();
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}: {}", outbox.getId(), outbox.getRecipient(), attempts, backoff, cause.getMessage());
+        outbox.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        retriedCount.incrementAndGet();
+    }
+}
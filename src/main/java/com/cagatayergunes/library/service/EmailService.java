@@ -1,19 +1,19 @@
 package com.cagatayergunes.library.service;
 
+import com.cagatayergunes.library.model.EmailOutbox;
+import com.cagatayergunes.library.model.EmailOutboxStatus;
 import com.cagatayergunes.library.model.EmailTemplateName;
+import com.cagatayergunes.library.repository.EmailOutboxRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.springframework.mail.javamail.MimeMessageHelper.MULTIPART_MODE_MIXED;
@@ -23,10 +23,13 @@ import static org.springframework.mail.javamail.MimeMessageHelper.MULTIPART_MODE
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final String SENDER = "contact@cagatay.com";
+
     private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final EmailTemplateRenderer templateRenderer;
+    private final EmailOutboxRepository emailOutboxRepository;
 
-    @Async
+    @Transactional
     public void sendEmail(
             String to,
             String username,
@@ -34,12 +37,26 @@ public class EmailService {
             String confirmationUrl,
             String activationCode,
             String subject
-    ) throws MessagingException {
-        log.info("Preparing to send email to: {}", to);
-
-        String templateName = (emailTemplate != null) ? emailTemplate.getName() : "confirm-email";
-        log.debug("Using email template: {}", templateName);
+    ) {
+        log.info("Queueing email to: {}", to);
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox outbox = EmailOutbox.builder()
+                .recipient(to)
+                .username(username)
+                .template(emailTemplate != null ? emailTemplate : EmailTemplateName.ACTIVATE_ACCOUNT)
+                .confirmationUrl(confirmationUrl)
+                .activationCode(activationCode)
+                .subject(subject)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+        emailOutboxRepository.save(outbox);
+        log.debug("Email to {} queued with outbox ID: {}", to, outbox.getId());
+    }
 
+    public MimeMessage buildMessage(EmailOutbox outbox) throws MessagingException {
         MimeMessage mimeMessage = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(
                 mimeMessage,
@@ -47,31 +64,21 @@ public class EmailService {
                 UTF_8.name()
         );
 
-        Map<String, Object> properties = new HashMap<>();
-        properties.put("username", username);
-        properties.put("confirmationUrl", confirmationUrl);
-        properties.put("activation_code", activationCode);
-        log.debug("Email properties set: {}", properties);
-
-        Context context = new Context();
-        context.setVariables(properties);
-
-        helper.setFrom("contact@cagatay.com");
-        helper.setTo(to);
-        helper.setSubject(subject);
-        log.debug("Email details set. From: {}, To: {}, Subject: {}", "contact@cagatay.com", to, subject);
+        helper.setFrom(SENDER);
+        helper.setTo(outbox.getRecipient());
+        helper.setSubject(outbox.getSubject());
 
         try {
-            String template = templateEngine.process(templateName, context);
-            helper.setText(template, true);
-            mailSender.send(mimeMessage);
-            log.info("Email successfully sent to {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-            throw e;
+            helper.setText(templateRenderer.render(
+                    outbox.getTemplate(),
+                    outbox.getUsername(),
+                    outbox.getConfirmationUrl(),
+                    outbox.getActivationCode()
+            ), true);
         } catch (Exception e) {
-            log.error("Unexpected error while sending email to {}: {}", to, e.getMessage(), e);
-            throw new MessagingException("Unexpected error occurred while sending email", e);
+            log.error("Failed to render email {} for {}: {}", outbox.getId(), outbox.getRecipient(), e.getMessage(), e);
+            throw new MessagingException("Unexpected error occurred while rendering email", e);
         }
+        return mimeMessage;
     }
 }
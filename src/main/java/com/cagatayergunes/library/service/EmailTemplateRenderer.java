@@ -0,0 +1,44 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.EmailTemplateName;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class EmailTemplateRenderer {
+
+    private final ITemplateEngine templateEngine;
+    private final Map<EmailTemplateName, TemplateSpec> templates = new EnumMap<>(EmailTemplateName.class);
+
+    public EmailTemplateRenderer(ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+        for (EmailTemplateName template : EmailTemplateName.values()) {
+            templates.put(template, new TemplateSpec(template.getName(), TemplateMode.HTML));
+        }
+    }
+
+    public String render(EmailTemplateName template, String username, String confirmationUrl, String activationCode) {
+        Context context = new Context();
+        context.setVariable("username", username);
+        context.setVariable("confirmationUrl", confirmationUrl);
+        context.setVariable("activation_code", activationCode);
+        return templateEngine.process(templates.get(template), context);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        long start = System.nanoTime();
+        templates.forEach((template, spec) -> templateEngine.process(spec, new Context()));
+        log.info("Pre-warmed {} email templates in {} ms", templates.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -16,22 +16,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class FeedbackService {
 
     private final BookRepository bookRepository;
     private final FeedbackMapper mapper;
     private final FeedbackRepository feedbackRepository;
 
+    @Transactional
     public Long save(FeedbackRequest request) {
         log.info("Attempting to save feedback for bookId: {}", request.bookId());
 
         Book book = bookRepository.findById(request.bookId())
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> {
                     log.warn("Book with ID {} not found", request.bookId());
                     return new EntityNotFoundException("No book found with the ID: " + request.bookId());
@@ -0,0 +1,181 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.request.FlightRecordingRequest;
+import com.cagatayergunes.library.model.response.FlightRecordingResponse;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+public class FlightRecorderService {
+
+    static final String DEFAULT_CONFIGURATION = "default";
+
+    private final Map<Long, TrackedRecording> recordings = new ConcurrentHashMap<>();
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Value("${application.jfr.directory:${java.io.tmpdir}/library-recordings}")
+    private Path directory;
+
+    @Value("${application.jfr.max-duration:30m}")
+    private Duration maxDuration;
+
+    @Value("${application.jfr.max-size:250MB}")
+    private DataSize maxSize;
+
+    @Value("${application.jfr.max-running:1}")
+    private int maxRunning;
+
+    @Value("${application.jfr.stopped-retention:1h}")
+    private Duration stoppedRetention;
+
+    public FlightRecordingResponse start(FlightRecordingRequest request) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new OperationNotPermittedException("Java Flight Recorder is not available in this JVM.");
+        }
+        startLock.lock();
+        try {
+            return startRecording(request);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private FlightRecordingResponse startRecording(FlightRecordingRequest request) {
+        long running = recordings.values().stream()
+                .filter(tracked -> tracked.recording().getState() == RecordingState.RUNNING)
+                .count();
+        if (running >= maxRunning) {
+            throw new OperationNotPermittedException("Already running " + running + " flight recording(s), stop one first.");
+        }
+
+        String configurationName = request.configuration() == null ? DEFAULT_CONFIGURATION : request.configuration();
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration(configurationName).getSettings());
+        } catch (IOException | ParseException e) {
+            throw new OperationNotPermittedException("Unknown JFR configuration '" + configurationName + "', use 'default' or 'profile'.");
+        }
+        if (request.settings() != null) {
+            settings.putAll(request.settings());
+        }
+
+        Recording recording = new Recording(settings);
+        recording.setName(request.name() != null ? request.name() : "library-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setDuration(request.duration() == null || request.duration().compareTo(maxDuration) > 0
+                ? maxDuration
+                : request.duration());
+        recording.setMaxSize(request.maxSizeBytes() == null
+                ? maxSize.toBytes()
+                : Math.min(request.maxSizeBytes(), maxSize.toBytes()));
+        recording.start();
+        TrackedRecording tracked = new TrackedRecording(recording, configurationName);
+        recordings.put(recording.getId(), tracked);
+        log.info("Started flight recording {} '{}' with '{}' settings for at most {}",
+                recording.getId(), recording.getName(), configurationName, recording.getDuration());
+        return toResponse(tracked);
+    }
+
+    public List<FlightRecordingResponse> getRecordings() {
+        return recordings.values().stream()
+                .map(this::toResponse)
+                .sorted(Comparator.comparingLong(FlightRecordingResponse::getId))
+                .toList();
+    }
+
+    public Resource stop(long recordingId) {
+        Recording recording = removeRecordingOrThrow(recordingId).recording();
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("recording-" + recordingId + ".jfr");
+            recording.dump(file);
+            log.info("Stopped flight recording {}, streaming {} bytes", recordingId, Files.size(file));
+            return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write flight recording " + recordingId, e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    public void discard(long recordingId) {
+        removeRecordingOrThrow(recordingId).recording().close();
+        log.info("Discarded flight recording {}", recordingId);
+    }
+
+    // A recording that reaches its duration stops by itself, but keeps its disk chunks until it is closed.
+    @Scheduled(fixedDelayString = "${application.jfr.evict-interval:60000}")
+    public void evictStopped() {
+        Instant cutoff = Instant.now().minus(stoppedRetention);
+        recordings.forEach((recordingId, tracked) -> {
+            Recording recording = tracked.recording();
+            if (recording.getState() == RecordingState.STOPPED && recording.getStopTime().isBefore(cutoff)
+                    && recordings.remove(recordingId, tracked)) {
+                recording.close();
+                log.info("Closed flight recording {} that stopped at {} and was never downloaded",
+                        recordingId, recording.getStopTime());
+            }
+        });
+    }
+
+    @PreDestroy
+    void closeAll() {
+        recordings.values().forEach(tracked -> tracked.recording().close());
+        recordings.clear();
+    }
+
+    private TrackedRecording removeRecordingOrThrow(long recordingId) {
+        TrackedRecording tracked = recordings.remove(recordingId);
+        if (tracked == null) {
+            throw new EntityNotFoundException("No flight recording found with ID: " + recordingId);
+        }
+        return tracked;
+    }
+
+    private FlightRecordingResponse toResponse(TrackedRecording tracked) {
+        Recording recording = tracked.recording();
+        return FlightRecordingResponse.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .configuration(tracked.configuration())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .duration(recording.getDuration())
+                .maxSizeBytes(recording.getMaxSize())
+                .build();
+    }
+
+    private record TrackedRecording(Recording recording, String configuration) {
+    }
+}
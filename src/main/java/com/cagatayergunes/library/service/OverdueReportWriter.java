@@ -0,0 +1,139 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.projection.OverdueLoan;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+@Slf4j
+@Service
+public class OverdueReportWriter {
+
+    static final String HEADER = "title,author,isbn,due_date,days_overdue,patron,email\n";
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private final BookTransactionHistoryRepository historyRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor partitionExecutor;
+
+    @Value("${application.reports.partition-size:250000}")
+    private long partitionSize;
+
+    @Value("${application.reports.partition-threads:4}")
+    private int partitionThreads;
+
+    public OverdueReportWriter(
+            BookTransactionHistoryRepository historyRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("reportPartitionExecutor") AsyncTaskExecutor partitionExecutor
+    ) {
+        this.historyRepository = historyRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.partitionExecutor = partitionExecutor;
+    }
+
+    public long write(Path target, LocalDateTime now) throws IOException {
+        List<Path> parts = new ArrayList<>();
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            // Partitions are cut by row count rather than id span, since ids can be sparse, and grow beyond
+            // partition-size when needed to keep their number bounded.
+            long overdue = historyRepository.countOverdue(now);
+            if (overdue > 0) {
+                long partitionRows = Math.max(partitionSize,
+                        Math.ceilDiv(overdue, (long) Math.max(1, partitionThreads) * PARTITIONS_PER_THREAD));
+                List<Long> starts = historyRepository.findOverduePartitionStarts(now, partitionRows);
+                for (int i = 0; i < starts.size(); i++) {
+                    long fromId = starts.get(i);
+                    long toId = i + 1 < starts.size() ? starts.get(i + 1) - 1 : Long.MAX_VALUE;
+                    Path part = target.resolveSibling(target.getFileName() + "." + parts.size());
+                    parts.add(part);
+                    futures.add(partitionExecutor.submit(() -> writePartition(part, now, fromId, toId)));
+                }
+                log.debug("Overdue report split {} loans into {} partitions of up to {} rows", overdue, parts.size(), partitionRows);
+            }
+
+            long rows = 0;
+            try (FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                out.write(UTF_8.encode(HEADER));
+                for (int i = 0; i < parts.size(); i++) {
+                    rows += await(futures.get(i));
+                    try (FileChannel in = FileChannel.open(parts.get(i), READ)) {
+                        long position = 0;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            return rows;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private long writePartition(Path part, LocalDateTime now, long fromId, long toId) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            try (Writer writer = Files.newBufferedWriter(part, UTF_8);
+                 Stream<OverdueLoan> loans = historyRepository.streamOverdueLoans(now, fromId, toId)) {
+                long count = 0;
+                for (Iterator<OverdueLoan> it = loans.iterator(); it.hasNext(); count++) {
+                    OverdueLoan loan = it.next();
+                    CsvRows.writeRow(writer, loan.title(), loan.authorName(), loan.isbn(),
+                            loan.dueDate().toString(),
+                            String.valueOf(ChronoUnit.DAYS.between(loan.dueDate(), now)),
+                            loan.firstName() + " " + loan.lastName(), loan.email());
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private long await(Future<Long> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a report partition", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
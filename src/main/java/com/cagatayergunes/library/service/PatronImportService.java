@@ -0,0 +1,436 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.model.mapper.PatronImportMapper;
+import com.cagatayergunes.library.model.request.RegistrationRequest;
+import com.cagatayergunes.library.model.response.PatronImportResponse;
+import com.cagatayergunes.library.repository.PatronImportJobRepository;
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+@Service
+public class PatronImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    private final PatronImportJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final AuthenticationService authenticationService;
+    private final PasswordEncoder passwordEncoder;
+    private final PatronImportMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor importExecutor;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${application.patron-import.directory:${java.io.tmpdir}/library-imports}")
+    private Path importDirectory;
+
+    @Value("${application.patron-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${application.patron-import.retention:7d}")
+    private Duration retention;
+
+    public PatronImportService(
+            PatronImportJobRepository jobRepository,
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            AuthenticationService authenticationService,
+            PasswordEncoder passwordEncoder,
+            PatronImportMapper mapper,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("patronImportExecutor") TaskExecutor importExecutor,
+            ObjectMapper objectMapper,
+            Validator validator
+    ) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.authenticationService = authenticationService;
+        this.passwordEncoder = passwordEncoder;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.importExecutor = importExecutor;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public PatronImportResponse submit(MultipartFile file, PatronImportFormat format, Authentication connectedUser) throws IOException {
+        PatronImportFormat resolvedFormat = format != null ? format : detectFormat(file.getOriginalFilename());
+        log.info("Submitting {} patron import: {}", resolvedFormat, file.getOriginalFilename());
+
+        Files.createDirectories(importDirectory);
+        Path target = importDirectory.resolve(UUID.randomUUID() + "." + resolvedFormat.name().toLowerCase(Locale.ROOT));
+        file.transferTo(target);
+
+        long totalLines;
+        try (Stream<String> lines = Files.lines(target, UTF_8)) {
+            totalLines = lines.count();
+        }
+
+        PatronImportJob job = jobRepository.save(PatronImportJob.builder()
+                .format(resolvedFormat)
+                .status(PatronImportStatus.QUEUED)
+                .sourceFile(target.toString())
+                .originalFileName(file.getOriginalFilename())
+                .totalLines(totalLines)
+                .submittedBy(((User) connectedUser.getPrincipal()).getId())
+                .createdAt(LocalDateTime.now())
+                .build());
+        schedule(job.getId());
+        log.info("Patron import {} queued with {} lines", job.getId(), totalLines);
+        return mapper.toPatronImportResponse(job);
+    }
+
+    public PatronImportResponse getImport(Long jobId) {
+        return mapper.toPatronImportResponse(getJobOrThrow(jobId));
+    }
+
+    public PatronImportResponse resume(Long jobId) {
+        PatronImportJob job = getJobOrThrow(jobId);
+        if (job.getStatus() == PatronImportStatus.COMPLETED || activeJobs.contains(jobId)) {
+            throw new OperationNotPermittedException("Patron import " + jobId + " is already " +
+                    (job.getStatus() == PatronImportStatus.COMPLETED ? "completed." : "running."));
+        }
+        if (job.getSourceFile() == null) {
+            throw new OperationNotPermittedException("The file of patron import " + jobId + " was purged, upload it again.");
+        }
+        log.info("Resuming patron import {} after line {}", jobId, job.getProcessedLines());
+        job.setStatus(PatronImportStatus.QUEUED);
+        jobRepository.save(job);
+        schedule(jobId);
+        return mapper.toPatronImportResponse(job);
+    }
+
+    void run(Long jobId) {
+        if (!activeJobs.add(jobId)) {
+            log.warn("Patron import {} is already running", jobId);
+            return;
+        }
+        try {
+            PatronImportJob job = transactionTemplate.execute(status -> {
+                PatronImportJob running = getJobOrThrow(jobId);
+                running.setStatus(PatronImportStatus.RUNNING);
+                if (running.getStartedAt() == null) {
+                    running.setStartedAt(LocalDateTime.now());
+                }
+                return jobRepository.save(running);
+            });
+            Role patronRole = roleRepository.findByName(RoleName.PATRON)
+                    .orElseThrow(() -> new IllegalStateException("ROLE PATRON was not initialized."));
+
+            try (BufferedReader reader = Files.newBufferedReader(Path.of(job.getSourceFile()), UTF_8)) {
+                long lineNumber = 0;
+                Map<String, Integer> columns = null;
+                if (job.getFormat() == PatronImportFormat.CSV) {
+                    columns = parseHeader(reader.readLine());
+                    lineNumber++;
+                }
+                while (lineNumber < job.getProcessedLines() && reader.readLine() != null) {
+                    lineNumber++;
+                }
+
+                List<String> chunk = new ArrayList<>(chunkSize);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    chunk.add(line);
+                    if (chunk.size() == chunkSize) {
+                        importChunk(job, chunk, lineNumber, columns, patronRole);
+                        chunk.clear();
+                    }
+                }
+                importChunk(job, chunk, lineNumber, columns, patronRole);
+            }
+
+            finish(jobId, PatronImportStatus.COMPLETED, null);
+            log.info("Patron import {} completed", jobId);
+        } catch (Exception e) {
+            log.error("Patron import {} failed: {}", jobId, e.getMessage(), e);
+            finish(jobId, PatronImportStatus.FAILED, e.getMessage());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    // Source files hold plaintext passwords, so they are only kept while a failed import can still be resumed.
+    @Scheduled(fixedDelayString = "${application.patron-import.purge-interval:3600000}")
+    public void purgeExpiredSources() {
+        List<PatronImportJob> expired = jobRepository.findByStatusAndFinishedAtBeforeAndSourceFileIsNotNull(
+                PatronImportStatus.FAILED, LocalDateTime.now().minus(retention));
+        if (expired.isEmpty()) {
+            return;
+        }
+        List<PatronImportJob> purged = new ArrayList<>(expired.size());
+        for (PatronImportJob job : expired) {
+            if (!activeJobs.contains(job.getId()) && deleteSourceFile(job)) {
+                purged.add(job);
+            }
+        }
+        jobRepository.saveAll(purged);
+        log.info("Purged the files of {} failed patron imports", purged.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private void importChunk(PatronImportJob job, List<String> lines, long lastLineNumber, Map<String, Integer> columns, Role patronRole) {
+        long firstLineNumber = lastLineNumber - lines.size() + 1;
+        List<RegistrationRequest> rows = new ArrayList<>(lines.size());
+        Set<String> seenEmails = new HashSet<>();
+        String lastError = null;
+        long skipped = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                RegistrationRequest row = columns != null ? parseCsvRow(line, columns) : parseJsonRow(line);
+                Set<ConstraintViolation<RegistrationRequest>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(violations.iterator().next().getMessage());
+                }
+                if (!seenEmails.add(row.getEmail())) {
+                    throw new IllegalArgumentException("Duplicate email " + row.getEmail());
+                }
+                rows.add(row);
+            } catch (Exception e) {
+                skipped++;
+                lastError = "Line " + (firstLineNumber + i) + ": " + e.getMessage();
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            Set<String> existing = userRepository.findExistingEmails(seenEmails);
+            if (!existing.isEmpty()) {
+                skipped += existing.size();
+                lastError = "Skipped " + existing.size() + " already registered emails";
+                rows = rows.stream().filter(row -> !existing.contains(row.getEmail())).toList();
+            }
+        }
+
+        String[] passwords = rows.stream().map(RegistrationRequest::getPassword).toArray(String[]::new);
+        String[] hashes = new String[passwords.length];
+        hashingPool.invoke(new PasswordHashTask(passwordEncoder, passwords, hashes, 0, passwords.length));
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RegistrationRequest row = rows.get(i);
+            users.add(User.builder()
+                    .firstName(row.getFirstName())
+                    .lastName(row.getLastName())
+                    .email(row.getEmail())
+                    .password(hashes[i])
+                    .accountLocked(false)
+                    .enabled(false)
+                    .roles(new ArrayList<>(List.of(patronRole)))
+                    .build());
+        }
+
+        long chunkSkipped = skipped;
+        String chunkError = lastError;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!users.isEmpty()) {
+                userRepository.saveAll(users);
+                authenticationService.queueActivationEmails(users);
+            }
+            PatronImportJob progress = getJobOrThrow(job.getId());
+            progress.setProcessedLines(lastLineNumber);
+            progress.setImportedCount(progress.getImportedCount() + users.size());
+            progress.setSkippedCount(progress.getSkippedCount() + chunkSkipped);
+            if (chunkError != null) {
+                progress.setLastError(chunkError);
+            }
+            jobRepository.save(progress);
+        });
+        log.debug("Patron import {}: imported {} and skipped {} rows up to line {}", job.getId(), users.size(), chunkSkipped, lastLineNumber);
+    }
+
+    private void finish(Long jobId, PatronImportStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+            if (error != null) {
+                job.setLastError(error);
+            }
+            if (status == PatronImportStatus.COMPLETED) {
+                deleteSourceFile(job);
+            }
+            jobRepository.save(job);
+        }));
+    }
+
+    private boolean deleteSourceFile(PatronImportJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getSourceFile()));
+            job.setSourceFile(null);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not delete the file of patron import {}: {}", job.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void schedule(Long jobId) {
+        try {
+            importExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            log.warn("Patron import {} rejected: {}", jobId, e.getMessage());
+            finish(jobId, PatronImportStatus.FAILED, "Too many imports queued, resume it later.");
+            throw new OperationNotPermittedException("Too many patron imports are queued. Resume this import later.");
+        }
+    }
+
+    private PatronImportJob getJobOrThrow(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("No patron import found with the id " + jobId));
+    }
+
+    private PatronImportFormat detectFormat(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? PatronImportFormat.NDJSON : PatronImportFormat.CSV;
+    }
+
+    private Map<String, Integer> parseHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS.stream().collect(Collectors.joining(", ")));
+        }
+        return columns;
+    }
+
+    private RegistrationRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(line);
+        return RegistrationRequest.builder()
+                .firstName(field(fields, columns.get("firstname")))
+                .lastName(field(fields, columns.get("lastname")))
+                .email(field(fields, columns.get("email")))
+                .password(field(fields, columns.get("password")))
+                .build();
+    }
+
+    private RegistrationRequest parseJsonRow(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        return RegistrationRequest.builder()
+                .firstName(node.path("firstName").asText(null))
+                .lastName(node.path("lastName").asText(null))
+                .email(node.path("email").asText(null))
+                .password(node.path("password").asText(null))
+                .build();
+    }
+
+    private String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static final class PasswordHashTask extends RecursiveAction {
+
+        private static final int THRESHOLD = 2;
+
+        private final PasswordEncoder encoder;
+        private final String[] passwords;
+        private final String[] hashes;
+        private final int from;
+        private final int to;
+
+        private PasswordHashTask(PasswordEncoder encoder, String[] passwords, String[] hashes, int from, int to) {
+            this.encoder = encoder;
+            this.passwords = passwords;
+            this.hashes = hashes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    hashes[i] = encoder.encode(passwords[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new PasswordHashTask(encoder, passwords, hashes, from, middle),
+                    new PasswordHashTask(encoder, passwords, hashes, middle, to)
+            );
+        }
+    }
+}
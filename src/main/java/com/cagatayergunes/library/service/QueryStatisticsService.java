@@ -0,0 +1,238 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.config.SqlStatementBudgetFilter;
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.response.QueryShapeStatisticsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueryStatisticsService {
+
+    static final String METRIC_NAME = "library.sql.query";
+    static final String OTHER_SHAPE = "other";
+    private static final String APPLICATION_PACKAGE = "com.cagatayergunes.library.";
+    private static final String CONFIG_PACKAGE = APPLICATION_PACKAGE + "config.";
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+    private static final int MAX_LOGGED_SQL = 2_000;
+    private static final int MAX_LOGGED_VALUE = 64;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+
+    private static final Map<String, Comparator<QueryShapeStatisticsResponse>> ORDERS = Map.of(
+            "p99", Comparator.comparingDouble(QueryShapeStatisticsResponse::getP99Millis),
+            "max", Comparator.comparingDouble(QueryShapeStatisticsResponse::getMaxMillis),
+            "mean", Comparator.comparingDouble(QueryShapeStatisticsResponse::getMeanMillis),
+            "total", Comparator.comparingDouble(QueryShapeStatisticsResponse::getTotalMillis));
+
+    private final MeterRegistry meterRegistry;
+    // Normalized SQL to its statistics, and the raw SQL seen so far to the same entries.
+    private final Map<String, QueryShape> shapes = new ConcurrentHashMap<>();
+    private final Map<String, QueryShape> statements = new ConcurrentHashMap<>();
+
+    @Value("${application.sql-monitor.slow-threshold:200ms}")
+    private Duration slowThreshold;
+
+    @Value("${application.sql-monitor.max-shapes:200}")
+    private int maxShapes;
+
+    @Value("${application.sql-monitor.redact-parameters:true}")
+    private boolean redactParameters;
+
+    public void record(String sql, Object[] parameters, int batchSize, long nanos, boolean failed) {
+        QueryShape shape = statements.get(sql);
+        if (shape == null) {
+            shape = shape(sql);
+        }
+        shape.record(nanos);
+        if (nanos >= slowThreshold.toNanos()) {
+            String endpoint = endpoint();
+            String method = method();
+            shape.recordSlow(endpoint, method);
+            log.warn("Slow SQL statement took {} ms{}{} on {} in {}, shape {}: {} with parameters {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos),
+                    failed ? " and failed" : "",
+                    batchSize > 1 ? " for a batch of " + batchSize : "",
+                    endpoint, method, shape.id, abbreviate(sql, MAX_LOGGED_SQL), parameters(parameters));
+        }
+    }
+
+    public List<QueryShapeStatisticsResponse> getSlowestQueries(int limit, String orderBy) {
+        Comparator<QueryShapeStatisticsResponse> order = ORDERS.get(orderBy);
+        if (order == null) {
+            throw new OperationNotPermittedException("Unknown order '" + orderBy + "', use one of " + ORDERS.keySet() + ".");
+        }
+        return shapes.values().stream()
+                .map(QueryShape::toResponse)
+                .sorted(order.reversed())
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    public void clearQueryStatistics() {
+        log.info("Clearing statistics of {} SQL query shapes", shapes.size());
+        shapes.values().forEach(shape -> meterRegistry.remove(shape.timer));
+        shapes.clear();
+        statements.clear();
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    String parameters(Object[] parameters) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < parameters.length; i++) {
+            joiner.add((i + 1) + ": " + describe(parameters[i]));
+        }
+        return joiner.toString();
+    }
+
+    private QueryShape shape(String sql) {
+        String normalized = normalize(sql);
+        QueryShape shape = shapes.get(normalized);
+        if (shape == null) {
+            // Past the limit new shapes share one entry, which keeps the meter's tag cardinality bounded.
+            shape = shapes.size() < maxShapes
+                    ? shapes.computeIfAbsent(normalized, key -> new QueryShape("%08x".formatted(key.hashCode()), key))
+                    : shapes.computeIfAbsent(OTHER_SHAPE, key -> new QueryShape(OTHER_SHAPE,
+                            "(query shapes beyond the first " + maxShapes + ")"));
+        }
+        if (statements.size() < MAX_CACHED_STATEMENTS) {
+            statements.putIfAbsent(sql, shape);
+        }
+        return shape;
+    }
+
+    private String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Temporal
+                || value instanceof Date || value instanceof UUID) {
+            return value.toString();
+        }
+        if (redactParameters) {
+            return value instanceof CharSequence text
+                    ? "<redacted " + text.length() + " chars>"
+                    : "<redacted " + value.getClass().getSimpleName() + ">";
+        }
+        String text = abbreviate(String.valueOf(value), MAX_LOGGED_VALUE);
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    private String endpoint() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? SqlStatementBudgetFilter.endpoint(attributes.getRequest())
+                : "thread " + Thread.currentThread().getName();
+    }
+
+    // The innermost application frame outside of the instrumentation is the service method that ran the query.
+    private String method() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIG_PACKAGE)
+                        && !frame.getClassName().equals(QueryStatisticsService.class.getName())
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String abbreviate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength) + "...";
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private final class QueryShape {
+
+        private final String id;
+        private final String sql;
+        private final Timer timer;
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, 2);
+        private final Histogram histogram = new Histogram(HIGHEST_MICROS, 2);
+        private final ReentrantLock histogramLock = new ReentrantLock();
+        private final LongAdder slowCount = new LongAdder();
+        private volatile String lastSlowEndpoint;
+        private volatile String lastSlowMethod;
+
+        private QueryShape(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+            this.timer = Timer.builder(METRIC_NAME)
+                    .description("Execution time of SQL statements by query shape")
+                    .tag("shape", id)
+                    .register(meterRegistry);
+        }
+
+        private void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            recorder.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_MICROS));
+        }
+
+        private void recordSlow(String endpoint, String method) {
+            slowCount.increment();
+            lastSlowEndpoint = endpoint;
+            lastSlowMethod = method;
+        }
+
+        private QueryShapeStatisticsResponse toResponse() {
+            histogramLock.lock();
+            try {
+                histogram.add(recorder.getIntervalHistogram());
+                return QueryShapeStatisticsResponse.builder()
+                        .shape(id)
+                        .sql(sql)
+                        .count(histogram.getTotalCount())
+                        .totalMillis(histogram.getMean() * histogram.getTotalCount() / 1000.0)
+                        .meanMillis(histogram.getMean() / 1000.0)
+                        .p50Millis(millis(histogram.getValueAtPercentile(50)))
+                        .p95Millis(millis(histogram.getValueAtPercentile(95)))
+                        .p99Millis(millis(histogram.getValueAtPercentile(99)))
+                        .maxMillis(millis(histogram.getMaxValue()))
+                        .slowCount(slowCount.sum())
+                        .lastSlowEndpoint(lastSlowEndpoint)
+                        .lastSlowMethod(lastSlowMethod)
+                        .build();
+            } finally {
+                histogramLock.unlock();
+            }
+        }
+    }
+}
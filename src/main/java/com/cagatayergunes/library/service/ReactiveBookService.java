@@ -2,6 +2,7 @@ package com.cagatayergunes.library.service;
 
 import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
 import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
 import com.cagatayergunes.library.model.BookTransactionHistory;
 import com.cagatayergunes.library.model.User;
 import com.cagatayergunes.library.model.mapper.BookMapper;
@@ -9,11 +10,13 @@ import com.cagatayergunes.library.model.response.BookResponse;
 import com.cagatayergunes.library.model.response.BorrowedBookResponse;
 import com.cagatayergunes.library.repository.BookRepository;
 import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
@@ -27,15 +30,21 @@ public class ReactiveBookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final BookTransactionHistoryRepository bookTransactionHistoryRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final BookChangeService bookChangeService;
+    private final TransactionTemplate transactionTemplate;
 
 
     public Mono<BookResponse> updateShareableStatus(Long bookId) {
-        return Mono.fromCallable(() -> {
-            Book book = bookRepository.findById(bookId)
+        return Mono.fromCallable(() -> transactionTemplate.execute(status -> {
+            Book book = bookChangeService.findBookForUpdate(bookId)
+                    .filter(found -> !found.isDeleted())
                     .orElseThrow(() -> new EntityNotFoundException("Book not found"));
             book.setShareable(!book.isShareable());
-            return bookRepository.save(book);
-        }).map(bookMapper::toBookResponse);
+            Book saved = bookRepository.save(book);
+            bookChangeService.record(bookId, BookChangeType.UPDATED);
+            return saved;
+        })).map(book -> bookMapper.toBookResponse(book, feedbackRepository.findAverageRate(bookId)));
     }
 
     public Mono<BorrowedBookResponse> borrowBook(Long bookId, Authentication connectedUser) {
@@ -63,7 +72,7 @@ public class ReactiveBookService {
                                         .returnApproved(false)
                                         .build();
                                 return Mono.fromCallable(() -> bookTransactionHistoryRepository.save(history))
-                                        .map(savedHistory -> bookMapper.toBorrowedBookResponse(savedHistory));
+                                        .map(savedHistory -> bookMapper.toBorrowedBookResponse(savedHistory, feedbackRepository.findAverageRate(bookId)));
                             });
                 });
     }
@@ -87,7 +96,7 @@ public class ReactiveBookService {
                                         .map(savedHistory -> {
                                             long lateDays = calculateLateDays(savedHistory.getDueDate());
                                             log.info("Book returned: {}, lateDays={}", bookId, lateDays);
-                                            BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(savedHistory);
+                                            BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(savedHistory, feedbackRepository.findAverageRate(bookId));
                                             response.setLateDays(lateDays);
                                             return response;
                                         });
@@ -119,7 +128,7 @@ public class ReactiveBookService {
                                             }
 
                                             log.info("Book return approved: {}, lateDays={}", bookId, lateDays);
-                                            BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(savedHistory);
+                                            BorrowedBookResponse response = bookMapper.toBorrowedBookResponse(savedHistory, feedbackRepository.findAverageRate(bookId));
                                             response.setLateDays(lateDays);
                                             return response;
                                         });
@@ -135,6 +144,7 @@ public class ReactiveBookService {
 
     private Book getBookByIdOrThrow(Long bookId) {
         return bookRepository.findById(bookId)
+                .filter(book -> !book.isDeleted())
                 .orElseThrow(() -> new EntityNotFoundException("No book found with the id " + bookId));
     }
 
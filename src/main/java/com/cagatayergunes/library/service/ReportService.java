@@ -0,0 +1,273 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.model.mapper.ReportJobMapper;
+import com.cagatayergunes.library.model.projection.GenreCirculation;
+import com.cagatayergunes.library.model.projection.InactivePatron;
+import com.cagatayergunes.library.model.request.ReportRequest;
+import com.cagatayergunes.library.model.response.ReportJobResponse;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.ReportJobRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+@Slf4j
+@Service
+public class ReportService {
+
+    private static final int DEFAULT_CIRCULATION_DAYS = 30;
+    private static final int DEFAULT_INACTIVE_DAYS = 90;
+
+    private final ReportJobRepository jobRepository;
+    private final BookTransactionHistoryRepository historyRepository;
+    private final UserRepository userRepository;
+    private final OverdueReportWriter overdueReportWriter;
+    private final ReportJobMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor reportExecutor;
+    private final LocalDateTime initializedAt = LocalDateTime.now();
+
+    @Value("${application.reports.directory:${java.io.tmpdir}/library-reports}")
+    private Path reportDirectory;
+
+    @Value("${application.reports.freshness:10m}")
+    private Duration freshness;
+
+    @Value("${application.reports.retention:7d}")
+    private Duration retention;
+
+    @Value("${application.reports.max-runtime:1h}")
+    private Duration maxRuntime;
+
+    public ReportService(
+            ReportJobRepository jobRepository,
+            BookTransactionHistoryRepository historyRepository,
+            UserRepository userRepository,
+            OverdueReportWriter overdueReportWriter,
+            ReportJobMapper mapper,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("reportExecutor") TaskExecutor reportExecutor
+    ) {
+        this.jobRepository = jobRepository;
+        this.historyRepository = historyRepository;
+        this.userRepository = userRepository;
+        this.overdueReportWriter = overdueReportWriter;
+        this.mapper = mapper;
+        this.transactionTemplate = transactionTemplate;
+        this.reportExecutor = reportExecutor;
+    }
+
+    public ReportJobResponse submit(ReportRequest request, Authentication connectedUser) {
+        String parameters = canonicalParameters(request);
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<ReportJob> reusable = jobRepository.findReusableJob(request.type(), parameters, now.minus(freshness),
+                now.minus(maxRuntime));
+        if (reusable.isPresent()) {
+            log.info("Reusing {} report {} for parameters '{}'", request.type(), reusable.get().getId(), parameters);
+            return mapper.toReportJobResponse(reusable.get(), true);
+        }
+
+        ReportJob job = jobRepository.save(ReportJob.builder()
+                .type(request.type())
+                .parameters(parameters)
+                .status(ReportJobStatus.QUEUED)
+                .submittedBy(((User) connectedUser.getPrincipal()).getId())
+                .createdAt(now)
+                .build());
+        schedule(job.getId());
+        log.info("{} report {} queued for parameters '{}'", request.type(), job.getId(), parameters);
+        return mapper.toReportJobResponse(job, false);
+    }
+
+    public ReportJobResponse getReport(Long jobId) {
+        return mapper.toReportJobResponse(getJobOrThrow(jobId), false);
+    }
+
+    public Resource getReportResult(Long jobId) {
+        ReportJob job = getJobOrThrow(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new OperationNotPermittedException("Report " + jobId + " is " + job.getStatus().name().toLowerCase(Locale.ROOT) + ".");
+        }
+        Path result = Path.of(job.getResultFile());
+        if (!Files.isReadable(result)) {
+            throw new EntityNotFoundException("The result of report " + jobId + " is no longer available");
+        }
+        return new FileSystemResource(result);
+    }
+
+    void run(Long jobId) {
+        try {
+            ReportJob job = transactionTemplate.execute(status -> {
+                ReportJob running = getJobOrThrow(jobId);
+                running.setStatus(ReportJobStatus.RUNNING);
+                running.setStartedAt(LocalDateTime.now());
+                return jobRepository.save(running);
+            });
+            Map<String, String> parameters = parseParameters(job.getParameters());
+
+            Files.createDirectories(reportDirectory);
+            Path target = reportDirectory.resolve("report-" + jobId + ".csv");
+            Path partial = reportDirectory.resolve("report-" + jobId + ".csv.part");
+            long rows = switch (job.getType()) {
+                case OVERDUE_BOOKS -> overdueReportWriter.write(partial, LocalDateTime.now());
+                case CIRCULATION_BY_GENRE -> writeCirculationByGenre(partial, parameters);
+                case INACTIVE_PATRONS -> writeInactivePatrons(partial, parameters);
+            };
+            Files.move(partial, target, REPLACE_EXISTING, ATOMIC_MOVE);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                ReportJob completed = getJobOrThrow(jobId);
+                completed.setStatus(ReportJobStatus.COMPLETED);
+                completed.setResultFile(target.toString());
+                completed.setRowCount(rows);
+                completed.setFinishedAt(LocalDateTime.now());
+                jobRepository.save(completed);
+            });
+            log.info("Report {} completed with {} rows", jobId, rows);
+        } catch (Exception e) {
+            log.error("Report {} failed: {}", jobId, e.getMessage(), e);
+            fail(jobId, e.getMessage());
+        }
+    }
+
+    // Reports run on an in-memory executor, so jobs that were queued or running when the application stopped
+    // never finish. Failing them lets identical submissions start a new run instead of reusing them.
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterrupted() {
+        int interrupted = transactionTemplate.execute(status -> jobRepository.failInFlightJobs(
+                initializedAt, "Interrupted by an application restart.", LocalDateTime.now()));
+        if (interrupted > 0) {
+            log.warn("Marked {} reports interrupted by a restart as failed", interrupted);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.reports.purge-interval:3600000}")
+    public void purgeExpired() {
+        String timeout = "Did not finish within " + maxRuntime.toMinutes() + " minutes.";
+        int stalled = transactionTemplate.execute(status -> jobRepository.failInFlightJobs(
+                LocalDateTime.now().minus(maxRuntime), timeout, LocalDateTime.now()));
+        if (stalled > 0) {
+            log.warn("Marked {} reports running longer than {} as failed", stalled, maxRuntime);
+        }
+        List<ReportJob> expired = jobRepository.findByCreatedAtBefore(LocalDateTime.now().minus(retention));
+        if (expired.isEmpty()) {
+            return;
+        }
+        for (ReportJob job : expired) {
+            if (job.getResultFile() != null) {
+                try {
+                    Files.deleteIfExists(Path.of(job.getResultFile()));
+                } catch (IOException e) {
+                    log.warn("Could not delete result of report {}: {}", job.getId(), e.getMessage());
+                }
+            }
+        }
+        jobRepository.deleteAllInBatch(expired);
+        log.info("Purged {} expired reports", expired.size());
+    }
+
+    private long writeCirculationByGenre(Path target, Map<String, String> parameters) throws IOException {
+        LocalDate from = LocalDate.parse(parameters.get("from"));
+        LocalDate to = LocalDate.parse(parameters.get("to"));
+        List<GenreCirculation> circulation = historyRepository.findCirculationByGenre(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        try (Writer writer = Files.newBufferedWriter(target, UTF_8)) {
+            CsvRows.writeRow(writer, "genre", "loans", "active_loans");
+            for (GenreCirculation genre : circulation) {
+                CsvRows.writeRow(writer, genre.getGenre(), String.valueOf(genre.getLoans()), String.valueOf(genre.getActiveLoans()));
+            }
+        }
+        return circulation.size();
+    }
+
+    private long writeInactivePatrons(Path target, Map<String, String> parameters) throws IOException {
+        int inactiveDays = Integer.parseInt(parameters.get("inactiveDays"));
+        List<InactivePatron> patrons = userRepository.findInactivePatrons(LocalDateTime.now().minusDays(inactiveDays));
+        try (Writer writer = Files.newBufferedWriter(target, UTF_8)) {
+            CsvRows.writeRow(writer, "id", "first_name", "last_name", "email", "last_borrow_date");
+            for (InactivePatron patron : patrons) {
+                CsvRows.writeRow(writer, String.valueOf(patron.getId()), patron.getFirstName(), patron.getLastName(), patron.getEmail(),
+                        patron.getLastBorrowDate() == null ? "" : patron.getLastBorrowDate().toString());
+            }
+        }
+        return patrons.size();
+    }
+
+    private String canonicalParameters(ReportRequest request) {
+        return switch (request.type()) {
+            case OVERDUE_BOOKS -> "";
+            case CIRCULATION_BY_GENRE -> {
+                LocalDate to = request.to() != null ? request.to() : LocalDate.now();
+                LocalDate from = request.from() != null ? request.from() : to.minusDays(DEFAULT_CIRCULATION_DAYS);
+                if (from.isAfter(to)) {
+                    throw new OperationNotPermittedException("The report start date must not be after its end date.");
+                }
+                yield "from=" + from + "&to=" + to;
+            }
+            case INACTIVE_PATRONS -> "inactiveDays=" + (request.inactiveDays() != null ? request.inactiveDays() : DEFAULT_INACTIVE_DAYS);
+        };
+    }
+
+    private Map<String, String> parseParameters(String parameters) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : parameters.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                values.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return values;
+    }
+
+    private void fail(Long jobId, String error) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setLastError(error);
+            jobRepository.save(job);
+        }));
+    }
+
+    private void schedule(Long jobId) {
+        try {
+            reportExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            log.warn("Report {} rejected: {}", jobId, e.getMessage());
+            fail(jobId, "Too many reports queued.");
+            throw new OperationNotPermittedException("Too many reports are queued. Try again later.");
+        }
+    }
+
+    private ReportJob getJobOrThrow(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("No report found with the id " + jobId));
+    }
+}
@@ -0,0 +1,6 @@
+package com.cagatayergunes.library.service;
+
+import java.nio.file.Path;
+
+public record StoredFile(Path path, String contentType, String etag, boolean immutable) {
+}
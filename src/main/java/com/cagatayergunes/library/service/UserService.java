@@ -4,21 +4,27 @@ import com.cagatayergunes.library.model.Role;
 import com.cagatayergunes.library.model.RoleName;
 import com.cagatayergunes.library.model.User;
 import com.cagatayergunes.library.model.mapper.UserMapper;
+import com.cagatayergunes.library.model.projection.UserSummary;
 import com.cagatayergunes.library.model.request.UpdateRoleRequest;
 import com.cagatayergunes.library.model.request.UserRequest;
+import com.cagatayergunes.library.model.response.CursorPageResponse;
 import com.cagatayergunes.library.model.response.UserResponse;
 import com.cagatayergunes.library.repository.RoleRepository;
 import com.cagatayergunes.library.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class UserService {
 
     private final UserRepository userRepository;
@@ -32,16 +38,36 @@ public class UserService {
         return mapper.toUserResponse(user);
     }
 
-    public List<UserResponse> getAllUsers() {
-        log.info("Fetching all users.");
-        List<UserResponse> users = userRepository.findAll()
-                .stream()
-                .map(mapper::toUserResponse)
+    public CursorPageResponse<UserResponse> getUserDirectory(Long cursor, int size, String search) {
+        log.info("Fetching user directory, cursor: {}, size: {}, search: '{}'", cursor, size, search);
+        long after = cursor == null ? 0L : cursor;
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        List<UserSummary> users = (search == null || search.isBlank())
+                ? userRepository.findUserDirectoryPage(after, pageable)
+                : userRepository.searchUserDirectoryPage(after, toPrefixPattern(search), pageable);
+
+        boolean last = users.size() <= size;
+        if (!last) {
+            users = users.subList(0, size);
+        }
+
+        Map<Long, List<String>> rolesByUser = new HashMap<>();
+        if (!users.isEmpty()) {
+            userRepository.findRoleNamesByUserIds(users.stream().map(UserSummary::getId).toList())
+                    .forEach(role -> rolesByUser.computeIfAbsent(role.getUserId(), id -> new ArrayList<>())
+                            .add(role.getRoleName().name()));
+        }
+
+        List<UserResponse> content = users.stream()
+                .map(user -> mapper.toUserResponse(user, rolesByUser.getOrDefault(user.getId(), List.of())))
                 .toList();
-        log.debug("Found {} users", users.size());
-        return users;
+        Long nextCursor = last ? null : content.get(content.size() - 1).getId();
+        log.debug("Found {} users, next cursor: {}", content.size(), nextCursor);
+        return new CursorPageResponse<>(content, content.size(), nextCursor, last);
     }
 
+    @Transactional
     public UserResponse updateUser(Long id, UserRequest request) {
         log.info("Updating user with id: {}", id);
         User user = getUser(id);
@@ -55,6 +81,7 @@ public class UserService {
         return mapper.toUserResponse(updatedUser);
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
         User user = getUser(id);
@@ -62,6 +89,7 @@ public class UserService {
         log.info("User with id: {} deleted successfully", id);
     }
 
+    @Transactional
     public void updateUserRole(Long userId, UpdateRoleRequest request) {
         log.info("Updating role for user with id: {}. New role: {}", userId, request.roleName());
         User user = getUser(userId);
@@ -74,6 +102,13 @@ public class UserService {
         log.info("Role {} added to user with id: {}", request.roleName(), userId);
     }
 
+    private String toPrefixPattern(String search) {
+        return search.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
     private User getUser(Long id){
         log.info("Fetching user with id: {}", id);
         User user = userRepository.findById(id)
@@ -0,0 +1,151 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.response.PinnedThreadSiteResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VirtualThreadPinningService {
+
+    static final String METRIC_NAME = "library.threads.virtual.pinned";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.cagatayergunes.library.";
+    private static final int REPORTED_FRAMES = 16;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private RecordingStream recording;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${application.threads.pinning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.threads.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    @PostConstruct
+    void start() {
+        if (!virtualThreads || !enabled) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned to their carrier for longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public List<PinnedThreadSiteResponse> getPinnedSites() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinnedThreadSiteResponse::getTotalMillis).reversed())
+                .toList();
+    }
+
+    public void clearPinnedSites() {
+        log.info("Clearing {} pinned virtual thread sites", sites.size());
+        sites.clear();
+    }
+
+    void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = site(frames);
+        Duration duration = event.getDuration();
+
+        PinnedSite pinned = sites.get(site);
+        if (pinned == null) {
+            PinnedSite created = new PinnedSite(frames.stream().limit(REPORTED_FRAMES).map(this::describe).toList());
+            pinned = sites.putIfAbsent(site, created);
+            if (pinned == null) {
+                pinned = created;
+                log.warn("Virtual thread pinned its carrier for {} ms at {}\n\tat {}",
+                        duration.toMillis(), site, String.join("\n\tat ", created.stackTrace));
+            }
+        }
+        pinned.record(duration);
+        Timer.builder(METRIC_NAME)
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    private String site(List<RecordedFrame> frames) {
+        RecordedFrame library = null;
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APPLICATION_PACKAGE)) {
+                return type + "." + frame.getMethod().getName();
+            }
+            if (library == null && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                library = frame;
+            }
+        }
+        RecordedFrame frame = library != null ? library : frames.isEmpty() ? null : frames.get(0);
+        return frame == null ? "unknown" : frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static final class PinnedSite {
+
+        private final List<String> stackTrace;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private PinnedSite(List<String> stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        private void record(Duration duration) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(duration.toNanos());
+            maxNanos.accumulate(duration.toNanos());
+        }
+
+        private PinnedThreadSiteResponse toResponse(String site) {
+            return PinnedThreadSiteResponse.builder()
+                    .site(site)
+                    .pinnedCount(count.get())
+                    .totalMillis(totalNanos.get() / 1_000_000.0)
+                    .maxMillis(maxNanos.get() / 1_000_000.0)
+                    .stackTrace(stackTrace)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Match the pooled-lo allocation sizes configured under spring.jpa.properties.library.id.
+alter sequence book_transaction_history_seq increment by 200;
+alter sequence feedback_seq increment by 200;
+alter sequence email_outbox_seq increment by 200;
@@ -0,0 +1,14 @@
+-- The directory search matches LOWER(column) LIKE 'prefix%', which plain column indexes cannot serve.
+-- text_pattern_ops makes the prefix match usable by the index whatever the database collation.
+drop index if exists idx_user_first_name;
+
+drop index if exists idx_user_last_name;
+
+create index if not exists idx_user_email_lower_prefix
+    on _user (lower(email) text_pattern_ops);
+
+create index if not exists idx_user_first_name_lower_prefix
+    on _user (lower(first_name) text_pattern_ops);
+
+create index if not exists idx_user_last_name_lower_prefix
+    on _user (lower(last_name) text_pattern_ops);
@@ -0,0 +1,2 @@
+-- Import files are deleted once an import completes or its retention ends, leaving the job without a source file.
+alter table patron_import_job alter column source_file drop not null;
@@ -0,0 +1,119 @@
+create sequence _user_seq start with 1 increment by 50;
+
+create sequence book_seq start with 1 increment by 50;
+
+create sequence book_transaction_history_seq start with 1 increment by 50;
+
+create sequence feedback_seq start with 1 increment by 50;
+
+create sequence role_seq start with 1 increment by 50;
+
+create sequence token_seq start with 1 increment by 50;
+
+create table _user (
+    account_locked boolean not null,
+    enabled boolean not null,
+    created_date timestamp(6) not null,
+    id bigint not null,
+    updated_date timestamp(6),
+    email varchar(255) unique,
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table _user_roles (
+    roles_id bigint not null,
+    users_id bigint not null
+);
+
+create table book (
+    publication_date date,
+    shareable boolean not null,
+    created_by bigint not null,
+    created_date timestamp(6) not null,
+    id bigint not null,
+    last_modified_by bigint,
+    last_modified_date timestamp(6),
+    author_name varchar(255),
+    genre varchar(255),
+    isbn varchar(255),
+    synopsis varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+create table book_transaction_history (
+    return_approved boolean not null,
+    returned boolean not null,
+    book_id bigint,
+    borrow_date timestamp(6),
+    created_by bigint not null,
+    created_date timestamp(6) not null,
+    due_date timestamp(6),
+    id bigint not null,
+    last_modified_by bigint,
+    last_modified_date timestamp(6),
+    return_date timestamp(6),
+    user_id bigint,
+    primary key (id)
+);
+
+create table feedback (
+    note float(53),
+    book_id bigint,
+    created_by bigint not null,
+    created_date timestamp(6) not null,
+    id bigint not null,
+    last_modified_by bigint,
+    last_modified_date timestamp(6),
+    comment varchar(255),
+    primary key (id)
+);
+
+create table role (
+    id bigint not null,
+    name varchar(255) not null unique check (name in ('ADMIN','PATRON','LIBRARIAN')),
+    primary key (id)
+);
+
+create table token (
+    created_at timestamp(6),
+    expires_at timestamp(6),
+    id bigint not null,
+    user_id bigint not null,
+    validated_at timestamp(6),
+    token varchar(255),
+    primary key (id)
+);
+
+alter table if exists _user_roles
+    add constraint FKtq7v0vo9kka3qeaw2alou2j8p
+    foreign key (roles_id)
+    references role;
+
+alter table if exists _user_roles
+    add constraint FKkna43mk14wb08rt62w1982ki6
+    foreign key (users_id)
+    references _user;
+
+alter table if exists book_transaction_history
+    add constraint FKetks95hi6ay47e16sj6vdv9g9
+    foreign key (book_id)
+    references book;
+
+alter table if exists book_transaction_history
+    add constraint FKh081geal7xoydl9vyh7cbf4wc
+    foreign key (user_id)
+    references _user;
+
+alter table if exists feedback
+    add constraint FKgclyi456gw0lcd6xcfj2l7r6s
+    foreign key (book_id)
+    references book;
+
+alter table if exists token
+    add constraint FKiblu4cjwvyntq3ugo31klp1c6
+    foreign key (user_id)
+    references _user;
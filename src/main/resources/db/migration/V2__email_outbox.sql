@@ -0,0 +1,18 @@
+create sequence if not exists email_outbox_seq start with 1 increment by 50;
+
+create table if not exists email_outbox (
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    next_attempt_at timestamp(6) not null,
+    sent_at timestamp(6),
+    activation_code varchar(255),
+    confirmation_url varchar(255),
+    last_error varchar(255),
+    recipient varchar(255) not null,
+    status varchar(255) not null check (status in ('PENDING','SENT','DEAD')),
+    subject varchar(255),
+    template varchar(255) not null check (template in ('ACTIVATE_ACCOUNT')),
+    username varchar(255),
+    primary key (id)
+);
@@ -0,0 +1,19 @@
+create sequence if not exists patron_import_job_seq start with 1 increment by 50;
+
+create table if not exists patron_import_job (
+    created_at timestamp(6) not null,
+    finished_at timestamp(6),
+    id bigint not null,
+    imported_count bigint not null,
+    processed_lines bigint not null,
+    skipped_count bigint not null,
+    started_at timestamp(6),
+    submitted_by bigint,
+    total_lines bigint not null,
+    format varchar(255) not null check (format in ('CSV','NDJSON')),
+    last_error varchar(255),
+    original_file_name varchar(255),
+    source_file varchar(255) not null,
+    status varchar(255) not null check (status in ('QUEUED','RUNNING','COMPLETED','FAILED')),
+    primary key (id)
+);
@@ -0,0 +1,16 @@
+create sequence if not exists report_job_seq start with 1 increment by 50;
+
+create table if not exists report_job (
+    created_at timestamp(6) not null,
+    finished_at timestamp(6),
+    id bigint not null,
+    row_count bigint not null,
+    started_at timestamp(6),
+    submitted_by bigint,
+    last_error varchar(255),
+    parameters varchar(255) not null,
+    result_file varchar(255),
+    status varchar(255) not null check (status in ('QUEUED','RUNNING','COMPLETED','FAILED')),
+    type varchar(255) not null check (type in ('OVERDUE_BOOKS','CIRCULATION_BY_GENRE','INACTIVE_PATRONS')),
+    primary key (id)
+);
@@ -0,0 +1,2 @@
+alter table book
+    add column if not exists cover_image varchar(64);
@@ -0,0 +1,2 @@
+alter table book
+    add column if not exists ebook_file varchar(64);
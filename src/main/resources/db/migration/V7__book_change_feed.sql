@@ -0,0 +1,14 @@
+-- The feed is backfilled with the existing books when the application starts and finds no book_changes sequence row.
+create table if not exists book_change (
+    book_id bigint not null,
+    changed_at timestamp(6) not null,
+    sequence bigint not null,
+    type varchar(255) not null check (type in ('CREATED','UPDATED','DELETED')),
+    primary key (sequence)
+);
+
+create table if not exists change_sequence (
+    last_sequence bigint not null,
+    name varchar(255) not null,
+    primary key (name)
+);
@@ -0,0 +1,2 @@
+alter table book
+    add column if not exists deleted_at timestamp(6);
@@ -0,0 +1,52 @@
+-- Directory search by first and last name.
+create index if not exists idx_user_first_name
+    on _user (first_name);
+
+create index if not exists idx_user_last_name
+    on _user (last_name);
+
+-- Reuse of queued, running and recent report jobs with the same parameters.
+create index if not exists idx_report_job_lookup
+    on report_job (type, parameters, status);
+
+-- Loans by book: borrow/return checks, active-loan lookups and the purge id scan.
+create index if not exists idx_history_book_state
+    on book_transaction_history (book_id, return_approved, returned);
+
+-- A patron's borrowed and returned pages, newest first.
+create index if not exists idx_history_user_state_created
+    on book_transaction_history (user_id, returned, created_date);
+
+-- Librarian history pages, newest first.
+create index if not exists idx_history_created
+    on book_transaction_history (created_date);
+
+-- Overdue report and its id-range partitions only ever look at open loans.
+create index if not exists idx_history_open_due
+    on book_transaction_history (due_date)
+    where not returned;
+
+create index if not exists idx_feedback_book_created
+    on feedback (book_id, created_date);
+
+-- Catalog listing: shareable, not deleted, newest first.
+create index if not exists idx_book_displayable_created
+    on book (created_date)
+    where shareable and deleted_at is null;
+
+-- Background purge of soft-deleted books.
+create index if not exists idx_book_deleted
+    on book (deleted_at)
+    where deleted_at is not null;
+
+create index if not exists idx_token_token
+    on token (token);
+
+-- The join table has no primary key, so role lookups by user would scan it.
+create index if not exists idx_user_roles_user
+    on _user_roles (users_id, roles_id);
+
+-- Outbox dispatcher polls pending rows in id order.
+create index if not exists idx_email_outbox_pending
+    on email_outbox (id, next_attempt_at)
+    where status = 'PENDING';
@@ -0,0 +1,113 @@
+package com.cagatayergunes.library.config;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookTransactionHistory;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.mapper.BookMapper;
+import com.cagatayergunes.library.model.response.BorrowedBookResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
+import com.cagatayergunes.library.service.BookChangeService;
+import com.cagatayergunes.library.service.ReactiveBookService;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FlightRecorderEventAspectTest {
+
+    @TempDir
+    Path directory;
+
+    private BookRepository bookRepository;
+    private BookTransactionHistoryRepository historyRepository;
+    private ReactiveBookService service;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        historyRepository = mock(BookTransactionHistoryRepository.class);
+        BookMapper bookMapper = mock(BookMapper.class);
+        when(bookMapper.toBorrowedBookResponse(any(), anyDouble())).thenReturn(new BorrowedBookResponse());
+        ReactiveBookService target = new ReactiveBookService(
+                bookRepository, bookMapper, historyRepository, mock(FeedbackRepository.class),
+                mock(BookChangeService.class), mock(TransactionTemplate.class));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new FlightRecorderEventAspect());
+        service = factory.getProxy();
+
+        User librarian = User.builder().id(7L).email("librarian@example.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(librarian, null, List.of()));
+        recording = new Recording();
+        recording.enable("com.cagatayergunes.library.ReturnBook");
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        recording.close();
+    }
+
+    @Test
+    void returnBook_RecordsEventWhenMonoCompletes() throws Exception {
+        Book book = Book.builder().id(3L).shareable(true).build();
+        BookTransactionHistory history = BookTransactionHistory.builder()
+                .book(book)
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .build();
+        when(bookRepository.findById(3L)).thenReturn(Optional.of(book));
+        when(historyRepository.findByBookAndReturnApprovedFalseAndReturnedFalse(book)).thenReturn(Optional.of(history));
+        when(historyRepository.save(history)).thenReturn(history);
+
+        Mono<BorrowedBookResponse> result = service.returnBorrowedBook(3L);
+        assertTrue(events().isEmpty());
+
+        assertNotNull(result.block());
+        RecordedEvent event = events().get(0);
+        assertEquals(3, event.getLong("bookId"));
+        assertEquals(7, event.getLong("userId"));
+        assertEquals(FlightRecorderEventAspect.SUCCESS, event.getString("outcome"));
+    }
+
+    @Test
+    void returnBook_RecordsFailureOutcome() throws Exception {
+        when(bookRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.returnBorrowedBook(9L));
+
+        RecordedEvent event = events().get(0);
+        assertEquals(9, event.getLong("bookId"));
+        assertEquals("EntityNotFoundException", event.getString("outcome"));
+    }
+
+    private List<RecordedEvent> events() throws Exception {
+        Path file = directory.resolve("events-" + System.nanoTime() + ".jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.cagatayergunes.library.ReturnBook"))
+                .toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.cagatayergunes.library.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogSamplerTest {
+
+    private RequestLogSampler sampler;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        sampler = new RequestLogSampler(3);
+        sampler.setContext(context);
+        sampler.start();
+        context.addTurboFilter(sampler);
+
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        logger = context.getLogger("com.cagatayergunes.library.service.BookService");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void end_DropsInfoOfUnsampledRequestButKeepsWarnings() {
+        sampler.begin();
+        logger.info("Fetching book {}", 1);
+        logger.warn("Book {} is late", 1);
+        logger.info("Fetched book {}", 1);
+
+        assertEquals(2, sampler.end(false));
+        assertEquals(List.of("Book 1 is late"), messages());
+    }
+
+    @Test
+    void end_ReplaysInfoOfKeptRequestInOrder() {
+        sampler.begin();
+        logger.info("Fetching book {}", 1);
+        logger.info("Fetched book {}", 1);
+        assertTrue(appender.list.isEmpty());
+
+        assertEquals(2, sampler.end(true));
+        assertEquals(List.of("Fetching book 1", "Fetched book 1"), messages());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void end_ReportsEventsBeyondTheBuffer() {
+        sampler.begin();
+        for (int i = 0; i < 5; i++) {
+            logger.info("Event {}", i);
+        }
+
+        assertEquals(5, sampler.end(true));
+        assertEquals(List.of("Event 0", "Event 1", "Event 2",
+                "2 more log events of this request did not fit the 3-event sampling buffer"), messages());
+    }
+
+    @Test
+    void decide_IgnoresDisabledLevelsAndLogsOutsideRequests() {
+        sampler.begin();
+        assertFalse(logger.isDebugEnabled());
+        logger.debug("Not buffered {}", 1);
+        assertEquals(0, sampler.end(true));
+
+        logger.info("Outside of a request");
+        assertEquals(List.of("Outside of a request"), messages());
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.cagatayergunes.library.config;
+
+import com.cagatayergunes.library.model.mapper.BookMapper;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
+import com.cagatayergunes.library.service.BookChangeService;
+import com.cagatayergunes.library.service.ReactiveBookService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private BookRepository bookRepository;
+    private BookTransactionHistoryRepository historyRepository;
+    private ReactiveBookService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        bookRepository = mock(BookRepository.class);
+        historyRepository = mock(BookTransactionHistoryRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        ReactiveBookService target = new ReactiveBookService(
+                bookRepository, mock(BookMapper.class), historyRepository, mock(FeedbackRepository.class),
+                mock(BookChangeService.class), transactionTemplate);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void time_RecordsMonoWhenItCompletes() {
+        when(historyRepository.isAlreadyBorrowedByUser(1L)).thenReturn(true);
+
+        Mono<Boolean> result = service.isAlreadyBorrowedByUser(1L);
+        assertNull(registry.find(ServiceMetricsAspect.METRIC_NAME).timer());
+
+        assertTrue(result.block());
+        assertEquals(1, timer("isAlreadyBorrowedByUser", "none").count());
+    }
+
+    @Test
+    void time_TagsFailuresWithExceptionType() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.updateShareableStatus(1L).block());
+        assertThrows(EntityNotFoundException.class, () -> service.borrowBook(1L, null));
+
+        assertEquals(1, timer("updateShareableStatus", "EntityNotFoundException").count());
+        assertEquals(1, timer("borrowBook", "EntityNotFoundException").count());
+    }
+
+    private Timer timer(String method, String exception) {
+        return registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("class", "ReactiveBookService", "method", method, "exception", exception)
+                .timer();
+    }
+}
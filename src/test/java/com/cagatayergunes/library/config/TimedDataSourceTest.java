@@ -0,0 +1,109 @@
+package com.cagatayergunes.library.config;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedDataSourceTest {
+
+    private final List<Execution> executions = new ArrayList<>();
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:timed-data-source;DB_CLOSE_DELAY=-1");
+        dataSource = TimedDataSource.wrap(h2, (sql, parameters, batchSize, nanos, failed) ->
+                executions.add(new Execution(sql, parameters.clone(), batchSize, nanos, failed)));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists shelf (id bigint primary key, label varchar(50))");
+            statement.execute("delete from shelf");
+        }
+        executions.clear();
+    }
+
+    @Test
+    void wrap_TimesPreparedStatementsWithTheirParameters() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select label from shelf where id = ? and label = ?")) {
+            statement.setLong(1, 7);
+            statement.setString(2, "Fiction");
+            try (ResultSet ignored = statement.executeQuery()) {
+                statement.setNull(2, java.sql.Types.VARCHAR);
+                statement.executeQuery().close();
+            }
+        }
+
+        assertEquals(2, executions.size());
+        Execution first = executions.get(0);
+        assertEquals("select label from shelf where id = ? and label = ?", first.sql());
+        assertArrayEquals(new Object[]{7L, "Fiction"}, first.parameters());
+        assertEquals(1, first.batchSize());
+        assertTrue(first.nanos() > 0);
+        assertFalse(first.failed());
+        assertArrayEquals(new Object[]{7L, null}, executions.get(1).parameters());
+    }
+
+    @Test
+    void wrap_TimesBatchesAndPlainStatements() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("insert into shelf (id, label) values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    statement.setLong(1, id);
+                    statement.setString(2, "Shelf " + id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeQuery("select count(*) from shelf").close();
+            }
+        }
+
+        assertEquals(2, executions.size());
+        assertEquals(3, executions.get(0).batchSize());
+        assertArrayEquals(new Object[]{3L, "Shelf 3"}, executions.get(0).parameters());
+        assertEquals("select count(*) from shelf", executions.get(1).sql());
+        assertEquals(0, executions.get(1).parameters().length);
+    }
+
+    @Test
+    void wrap_RecordsFailedStatementsAndRethrowsTheirException() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into shelf (id, label) values (?, ?)")) {
+            statement.setLong(1, 1);
+            statement.setString(2, "Shelf");
+            statement.executeUpdate();
+            assertThrows(SQLException.class, statement::executeUpdate);
+        }
+
+        assertEquals(2, executions.size());
+        assertFalse(executions.get(0).failed());
+        assertTrue(executions.get(1).failed());
+    }
+
+    @Test
+    void wrap_KeepsUnwrappingToTheDriverConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isWrapperFor(JdbcConnection.class));
+            assertNotNull(connection.unwrap(JdbcConnection.class));
+            assertEquals(connection, connection);
+            assertNotEquals(connection, connection.unwrap(JdbcConnection.class));
+        }
+    }
+
+    private record Execution(String sql, Object[] parameters, int batchSize, long nanos, boolean failed) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.config.SqlStatementBudgetFilter;
+import com.cagatayergunes.library.exception.handler.SqlStatementBudgetExceededException;
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.repository.*;
+import com.cagatayergunes.library.service.BookChangeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class ControllerStatementCountTest {
+
+    private static final int BOOKS = 4;
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private SqlStatementBudgetFilter budgetFilter;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private BookTransactionHistoryRepository historyRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private BookChangeRepository changeRepository;
+    @Autowired
+    private BookChangeService bookChangeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+    private User librarian;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(budgetFilter)
+                .apply(springSecurity())
+                .build();
+
+        librarian = userRepository.save(User.builder()
+                .firstName("librarian")
+                .lastName("Counter")
+                .email("count-librarian@example.com")
+                .password(passwordEncoder.encode("password1"))
+                .enabled(true)
+                .roles(List.of(roleRepository.findByName(RoleName.LIBRARIAN).orElseThrow()))
+                .build());
+
+        books = new ArrayList<>();
+        List<Feedback> feedbacks = new ArrayList<>();
+        List<BookTransactionHistory> histories = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = bookRepository.save(Book.builder()
+                    .title("Counted " + i)
+                    .authorName("Author")
+                    .isbn("9780000000000")
+                    .genre("Fiction")
+                    .shareable(true)
+                    .createdBy(librarian.getId())
+                    .build());
+            books.add(book);
+            for (int j = 0; j < 3; j++) {
+                feedbacks.add(Feedback.builder().book(book).note(3.0 + j).comment("Review").createdBy(librarian.getId()).build());
+            }
+            histories.add(BookTransactionHistory.builder()
+                    .book(book)
+                    .user(librarian)
+                    .borrowDate(LocalDateTime.now().minusDays(3))
+                    .dueDate(LocalDateTime.now().plusDays(11))
+                    .returned(i % 2 == 0)
+                    .returnApproved(false)
+                    .createdBy(librarian.getId())
+                    .build());
+        }
+        feedbackRepository.saveAll(feedbacks);
+        historyRepository.saveAll(histories);
+        changeRepository.deleteAllInBatch();
+        transactionTemplate.executeWithoutResult(status ->
+                bookChangeService.recordAll(books.stream().map(Book::getId).toList(), BookChangeType.CREATED));
+
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyRepository.deleteAll();
+        feedbackRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.delete(librarian);
+    }
+
+    @Test
+    void bookController() throws Exception {
+        assertEquals(2, statements(get("/books/{id}", books.get(0).getId())));
+        assertEquals(2, statements(get("/books")));
+        assertEquals(1, statements(get("/books/search").param("title", "Counted")));
+        assertEquals(2, statements(get("/books/borrowed")));
+        assertEquals(2, statements(get("/books/returned")));
+        assertEquals(3, statements(get("/books/changes")));
+    }
+
+    @Test
+    void bookChanges_RejectsPageSizeOutOfRange() throws Exception {
+        for (String size : new String[]{"0", "-1", "1001"}) {
+            mockMvc.perform(get("/books/changes").param("size", size).with(authentication(
+                            new UsernamePasswordAuthenticationToken(librarian, null, librarian.getAuthorities()))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void reactiveBookController() throws Exception {
+        assertEquals(7, statements(patch("/reactive/books/shareable/{id}", books.get(0).getId())));
+    }
+
+    @Test
+    void feedbackController() throws Exception {
+        assertEquals(1, statements(get("/feedback/book/{id}", books.get(0).getId())));
+    }
+
+    @Test
+    void userController() throws Exception {
+        assertEquals(1, statements(get("/user/{id}", librarian.getId())));
+        assertEquals(2, statements(get("/user")));
+    }
+
+    @Test
+    void authenticationController() throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"count-librarian@example.com\",\"password\":\"password1\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals(2, count(result));
+    }
+
+    @Test
+    void budgetExceeded_FailsRequest() {
+        ReflectionTestUtils.setField(budgetFilter, "maxStatements", 1);
+        try {
+            SqlStatementBudgetExceededException exception = assertThrows(SqlStatementBudgetExceededException.class,
+                    () -> statements(get("/books")));
+            assertEquals("GET /books executed 2 SQL statements (budget 1)", exception.getMessage());
+        } finally {
+            ReflectionTestUtils.setField(budgetFilter, "maxStatements", 25);
+        }
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.with(authentication(
+                        new UsernamePasswordAuthenticationToken(librarian, null, librarian.getAuthorities()))))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        return count(result);
+    }
+
+    private int count(MvcResult result) {
+        return (Integer) result.getRequest().getAttribute(SqlStatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cagatayergunes.library.controller;
+
+import com.cagatayergunes.library.service.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileResponsesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StoredFile file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path path = Files.writeString(tempDir.resolve("cover"), "0123456789");
+        file = new StoredFile(path, "image/png", "\"abc\"", true);
+    }
+
+    @Test
+    void send_WritesWholeFileWithCacheHeaders() throws Exception {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/covers/abc"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("\"abc\"", response.getHeader("ETag"));
+        assertEquals(FileResponses.IMMUTABLE, response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void send_ServesRequestedRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.addHeader("Range", "bytes=2-5");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void send_ServesSuffixRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    void send_RejectsRangeBeyondEndOfFile() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.addHeader("Range", "bytes=10-");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void send_IgnoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"other\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void send_ReturnsNotModifiedForMatchingEtag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.addHeader("If-None-Match", "\"xyz\", \"abc\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void send_HandsBodyToContainerSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/covers/abc");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        assertEquals(file.path().toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(4L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void send_CopiesBodyInRequestWhenContainerSendfileIsDisabled() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/7/ebook");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-");
+        request.addHeader("If-Range", "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileResponses.send(request, response, file, FileResponses.PRIVATE, false);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("456789", response.getContentAsString());
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileResponses.send(request, response, file, FileResponses.IMMUTABLE);
+        return response;
+    }
+}
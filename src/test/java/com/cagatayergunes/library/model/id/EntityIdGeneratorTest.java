@@ -0,0 +1,85 @@
+package com.cagatayergunes.library.model.id;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookTransactionHistory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class EntityIdGeneratorTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void sequenceEntities_UsePooledLoWithConfiguredAllocationSize() {
+        SequenceStyleGenerator history = (SequenceStyleGenerator) delegateOf(BookTransactionHistory.class);
+        SequenceStyleGenerator book = (SequenceStyleGenerator) delegateOf(Book.class);
+
+        assertInstanceOf(PooledLoOptimizer.class, history.getOptimizer());
+        assertEquals(200, history.getOptimizer().getIncrementSize());
+        assertEquals(50, book.getOptimizer().getIncrementSize());
+        assertNotEquals(history.getDatabaseStructure().getPhysicalName(), book.getDatabaseStructure().getPhysicalName());
+    }
+
+    @Test
+    void configuredEntities_UseTimeOrderedIds() {
+        EntityIdGenerator generator = configure("Feedback", "Book, Feedback");
+        TimeOrderedIdGenerator feedback = (TimeOrderedIdGenerator) generator.getDelegate();
+
+        long first = feedback.nextId();
+        long second = feedback.nextId();
+
+        assertTrue(second > first);
+        assertEquals(7, (first >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void timeOrderedHistory_IsRejected() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> configure("BookTransactionHistory", "BookTransactionHistory, Feedback"));
+
+        assertTrue(exception.getMessage().contains(EntityIdGenerator.TIME_ORDERED_ENTITIES));
+    }
+
+    private EntityIdGenerator configure(String entityName, String timeOrderedEntities) {
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        ConfigurationService configuration = mock(ConfigurationService.class);
+        when(serviceRegistry.requireService(ConfigurationService.class)).thenReturn(configuration);
+        when(configuration.getSettings()).thenReturn(Map.of(
+                EntityIdGenerator.TIME_ORDERED_ENTITIES, timeOrderedEntities,
+                EntityIdGenerator.NODE_ID, "7"));
+        Properties parameters = new Properties();
+        parameters.setProperty(IdentifierGenerator.JPA_ENTITY_NAME, entityName);
+
+        EntityIdGenerator generator = new EntityIdGenerator(null, null, null);
+        generator.configure(null, parameters, serviceRegistry);
+        return generator;
+    }
+
+    private Object delegateOf(Class<?> entity) {
+        Generator generator = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entity)
+                .getGenerator();
+        return ((EntityIdGenerator) generator).getDelegate();
+    }
+}
@@ -0,0 +1,84 @@
+package com.cagatayergunes.library.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Test
+    void nextId_EncodesTimestampAndNode() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(5, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        long id = generator.nextId();
+
+        assertEquals(NOW.toEpochMilli() - TimeOrderedIdGenerator.EPOCH, id >>> 22);
+        assertEquals(5, (id >>> 12) & TimeOrderedIdGenerator.MAX_NODE_ID);
+        assertEquals(0, id & 0xFFF);
+        assertTrue(id > 0);
+    }
+
+    @Test
+    void nextId_StaysIncreasingWhenCounterOverflowsOrClockGoesBack() {
+        MutableClock clock = new MutableClock(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock);
+
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        clock.instant = NOW.minusSeconds(5);
+        assertTrue(generator.nextId() > previous);
+    }
+
+    @Test
+    void nextId_IsUniqueAcrossThreads() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(0);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    void constructor_RejectsNodeIdsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
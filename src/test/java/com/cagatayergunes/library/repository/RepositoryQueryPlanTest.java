@@ -0,0 +1,372 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.BaseEntity;
+import com.cagatayergunes.library.model.Book;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "application.mailing.outbox.poll-interval=3600000",
+        "application.books.purge-interval=3600000",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "logging.level.com.cagatayergunes.library=INFO"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final long FIRST_ID = 1_000_001L;
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "_user", "_user_roles", "book", "book_transaction_history", "feedback", "token", "email_outbox");
+
+    private static final Map<String, String> FULL_SCANS_BY_DESIGN = Map.of(
+            "BookRepository.findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCaseAndDeletedAtIsNull",
+            "substring search with leading wildcards cannot use a b-tree index",
+            "BookRepository.findAllDisplayableBooks", "the page total counts every displayable book",
+            "BookTransactionHistoryRepository.findAllBorrowedBooks(Pageable)", "the librarian page total counts the whole history",
+            "BookTransactionHistoryRepository.findAllReturnedBooks(Pageable)", "the librarian page total counts every returned loan",
+            "BookTransactionHistoryRepository.findAllOverdue", "loads every overdue loan with its book and patron for the legacy text report",
+            "BookTransactionHistoryRepository.findCirculationByGenre", "aggregates all loans by genre in a background report job",
+            "UserRepository.findInactivePatrons", "aggregates every patron's history in a background report job",
+            "BookChangeRepository.backfill", "one-off copy of every book when the change feed is first initialized");
+
+    private static final List<RecordedStatement> recorded = new CopyOnWriteArrayList<>();
+    private static volatile boolean recording;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+                insert into _user (id, first_name, last_name, email, password, account_locked, enabled, created_date)
+                select g, 'First ' || g, 'Last ' || g, 'patron' || g || '@bench.local', 'secret', false, g % 10 <> 0,
+                       now() - (g % 1000) * interval '1 hour'
+                from generate_series(1000001, 1100000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into _user_roles (users_id, roles_id)
+                select g, (select id from role where name = 'PATRON')
+                from generate_series(1000001, 1100000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into book (id, title, author_name, isbn, genre, shareable, deleted_at, created_by, created_date)
+                select g, 'Book ' || g, 'Author ' || (g % 5000), (9780000000000 + g)::text, 'Genre ' || (g % 40),
+                       g % 10 <> 0, case when g % 500 = 0 then now() end, 1000001, now() - (g % 5000) * interval '1 hour'
+                from generate_series(1000001, 1100000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into book_transaction_history (id, user_id, book_id, borrow_date, due_date, return_date, returned,
+                                                      return_approved, created_by, created_date)
+                select g, 1000001 + (g * 7) % 100000, 1000001 + (g * 13) % 100000, borrowed, borrowed + interval '14 days',
+                       case when g % 20 <> 0 then borrowed + interval '10 days' end, g % 20 <> 0, g % 20 <> 0 and g % 50 <> 0,
+                       1000001, borrowed
+                from (select g, now() - case when g % 20 = 0 then g % 20 else g % 700 end * interval '1 day' as borrowed
+                      from generate_series(1000001, 1500000) g) loans
+                """);
+        jdbcTemplate.execute("""
+                insert into feedback (id, book_id, note, comment, created_by, created_date)
+                select g, 1000001 + (g * 17) % 100000, g % 5 + 1, 'Review ' || g, 1000001, now() - (g % 900) * interval '1 hour'
+                from generate_series(1000001, 1300000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into token (id, token, created_at, expires_at, user_id)
+                select g, 'token-' || g, now(), now() + interval '15 minutes', 1000001 + g % 100000
+                from generate_series(1000001, 1100000) g
+                """);
+        jdbcTemplate.execute("""
+                insert into email_outbox (id, recipient, template, status, attempts, created_at, next_attempt_at)
+                select g, 'patron' || g || '@bench.local', 'ACTIVATE_ACCOUNT',
+                       case when g % 100 = 0 then 'PENDING' else 'SENT' end, 0, now(), now()
+                from generate_series(1000001, 1100000) g
+                """);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void repositoryQueries_AvoidSequentialScansOnLargeTables() {
+        List<String> failures = new ArrayList<>();
+        int checked = 0;
+        for (Object repository : context.getBeansOfType(JpaRepository.class).values()) {
+            Class<?> repositoryInterface = repositoryInterface(repository);
+            for (Method method : repositoryInterface.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                String signature = name + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(", ", "(", ")"));
+                List<RecordedStatement> statements = invoke(repository, repositoryInterface, method);
+                if (statements.isEmpty()) {
+                    failures.add(signature + " did not execute any statement");
+                    continue;
+                }
+                if (FULL_SCANS_BY_DESIGN.containsKey(name) || FULL_SCANS_BY_DESIGN.containsKey(signature)) {
+                    continue;
+                }
+                for (RecordedStatement statement : statements) {
+                    JsonNode plan = explain(statement);
+                    List<String> scans = new ArrayList<>();
+                    collectSequentialScans(plan, scans);
+                    if (!scans.isEmpty()) {
+                        failures.add(signature + " scans " + scans + "\n  " + statement.sql() + "\n  " + plan);
+                    }
+                    checked++;
+                }
+            }
+        }
+        assertTrue(checked > 0, "No repository statements were checked");
+        assertTrue(failures.isEmpty(), "Sequential scans on large tables:\n" + String.join("\n", failures));
+    }
+
+    private List<RecordedStatement> invoke(Object repository, Class<?> repositoryInterface, Method method) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        recorded.clear();
+        recording = true;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                Object[] arguments = new Object[method.getParameterCount()];
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = argument(repositoryInterface, method, i);
+                }
+                try {
+                    Object result = method.invoke(repository, arguments);
+                    if (result instanceof Stream<?> stream) {
+                        try (stream) {
+                            stream.limit(1).forEach(row -> { });
+                        }
+                    }
+                } catch (InvocationTargetException e) {
+                    if (!(e.getCause() instanceof IncorrectResultSizeDataAccessException)) {
+                        throw new IllegalStateException(method + " failed", e.getCause());
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(recorded);
+    }
+
+    private Object argument(Class<?> repositoryInterface, Method method, int index) {
+        Parameter parameter = method.getParameters()[index];
+        Class<?> type = parameter.getType();
+        String name = parameter.getName();
+        LocalDateTime now = LocalDateTime.now();
+        if (type == Long.class || type == long.class) {
+            return switch (name) {
+                case "after", "cursor", "since", "fromId" -> FIRST_ID;
+                case "toId" -> FIRST_ID + 1000;
+                default -> FIRST_ID + 1;
+            };
+        }
+        if (type == int.class || type == Integer.class) {
+            return 20;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == String.class) {
+            return switch (name) {
+                case "genre" -> "Genre 7";
+                case "authorName" -> "Author 7";
+                case "title" -> "Book 1000007";
+                case "isbn" -> "9780000000007";
+                case "prefix" -> "patron10000%";
+                case "token" -> "token-1000001";
+                case "email" -> "patron1000001@bench.local";
+                case "firstName" -> "First 1000001";
+                default -> "{}";
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return switch (name) {
+                case "from" -> now.minusDays(1);
+                case "freshSince" -> now.minusMinutes(10);
+                case "cutoff" -> now.minusDays(90);
+                default -> now;
+            };
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Limit.class) {
+            return Limit.of(100);
+        }
+        if (type == Pageable.class) {
+            Class<?> domainType = ResolvableType.forClass(repositoryInterface).as(JpaRepository.class).resolveGeneric(0);
+            return domainType != null && BaseEntity.class.isAssignableFrom(domainType)
+                    ? PageRequest.of(0, 20, Sort.by("createdDate").descending())
+                    : PageRequest.of(0, 20);
+        }
+        if (type == Book.class) {
+            return entityManager.getReference(Book.class, FIRST_ID + 1);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Class<?> element = ResolvableType.forMethodParameter(method, index).resolveGeneric(0);
+            if (element == String.class) {
+                return List.of("patron1000001@bench.local", "patron1000002@bench.local");
+            }
+            return List.of(FIRST_ID + 1, FIRST_ID + 2, FIRST_ID + 3);
+        }
+        throw new IllegalArgumentException("No sample argument for " + method + " parameter " + name + " of type " + type);
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                for (ParameterBinding binding : statement.bindings()) {
+                    binding.method().invoke(explain, binding.arguments());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not bind parameters for " + statement.sql(), e);
+            }
+        });
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not parse plan " + json, e);
+        }
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> scans) {
+        String relation = node.path("Relation Name").asText();
+        if (node.path("Node Type").asText().equals("Seq Scan") && LARGE_TABLES.contains(relation)) {
+            scans.add(relation);
+        }
+        node.path("Plans").forEach(child -> collectSequentialScans(child, scans));
+    }
+
+    private static Class<?> repositoryInterface(Object repository) {
+        return Arrays.stream(repository.getClass().getInterfaces())
+                .filter(type -> type.getPackage().equals(RepositoryQueryPlanTest.class.getPackage()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown repository " + repository));
+    }
+
+    private record ParameterBinding(Method method, Object[] arguments) {
+    }
+
+    private record RecordedStatement(String sql, List<ParameterBinding> bindings) {
+    }
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (method, result, args) ->
+                                result instanceof Connection connection ? recordingConnection(connection) : result);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, result, args) ->
+                    recording && method.getName().equals("prepareStatement")
+                            ? recordingStatement((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            List<ParameterBinding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+                    bindings.add(new ParameterBinding(method, args.clone()));
+                } else if (name.equals("executeQuery") || name.equals("executeUpdate") || name.equals("execute")) {
+                    recorded.add(new RecordedStatement(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return decorator.decorate(method, method.invoke(target, args), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        @FunctionalInterface
+        private interface ResultDecorator {
+            Object decorate(Method method, Object result, Object[] args) throws Exception;
+        }
+    }
+}
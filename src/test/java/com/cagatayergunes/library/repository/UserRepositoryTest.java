@@ -0,0 +1,66 @@
+package com.cagatayergunes.library.repository;
+
+import com.cagatayergunes.library.model.Role;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.projection.InactivePatron;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final List<User> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(created);
+    }
+
+    @Test
+    void findInactivePatrons_LeavesOutStaff() {
+        User patron = save("inactive-patron@example.com", RoleName.PATRON);
+        User librarian = save("inactive-librarian@example.com", RoleName.PATRON, RoleName.LIBRARIAN);
+        User admin = save("inactive-admin@example.com", RoleName.ADMIN);
+
+        List<Long> ids = userRepository.findInactivePatrons(LocalDateTime.now()).stream()
+                .map(InactivePatron::getId)
+                .toList();
+
+        assertTrue(ids.contains(patron.getId()));
+        assertFalse(ids.contains(librarian.getId()));
+        assertFalse(ids.contains(admin.getId()));
+    }
+
+    private User save(String email, RoleName... roleNames) {
+        List<Role> roles = Arrays.stream(roleNames)
+                .map(name -> roleRepository.findByName(name).orElseThrow())
+                .toList();
+        User user = userRepository.save(User.builder()
+                .firstName("Inactive")
+                .lastName("Tester")
+                .email(email)
+                .password("secret")
+                .enabled(true)
+                .roles(new ArrayList<>(roles))
+                .build());
+        created.add(user);
+        return user;
+    }
+}
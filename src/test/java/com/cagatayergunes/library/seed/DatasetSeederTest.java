@@ -0,0 +1,179 @@
+package com.cagatayergunes.library.seed;
+
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.service.BookChangeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class DatasetSeederTest {
+
+    private static final int USERS = 300;
+    private static final int BOOKS = 500;
+    private static final int HISTORIES = 4000;
+    private static final int FEEDBACKS = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookChangeService bookChangeService;
+
+    private final List<Map<SeedTable, Long>> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seeded.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Map<SeedTable, Long> firstIds : seeded) {
+            jdbcTemplate.update("delete from feedback where id >= ?", firstIds.get(SeedTable.FEEDBACK));
+            jdbcTemplate.update("delete from book_transaction_history where id >= ?", firstIds.get(SeedTable.HISTORY));
+            jdbcTemplate.update("delete from book_change where book_id >= ?", firstIds.get(SeedTable.BOOK));
+            jdbcTemplate.update("delete from book where id >= ?", firstIds.get(SeedTable.BOOK));
+            jdbcTemplate.update("delete from _user_roles where users_id >= ?", firstIds.get(SeedTable.USER));
+            jdbcTemplate.update("delete from _user where id >= ?", firstIds.get(SeedTable.USER));
+        }
+    }
+
+    @Test
+    void seed_LoadsSkewedDatasetWithoutConflictingLoans() throws Exception {
+        Map<SeedTable, Long> firstIds = seed(42);
+        long firstBook = firstIds.get(SeedTable.BOOK);
+
+        assertEquals(USERS, count("_user", firstIds.get(SeedTable.USER)));
+        assertEquals(BOOKS, count("book", firstBook));
+        assertEquals(HISTORIES, count("book_transaction_history", firstIds.get(SeedTable.HISTORY)));
+        assertEquals(FEEDBACKS, count("feedback", firstIds.get(SeedTable.FEEDBACK)));
+
+        Integer conflictingLoans = jdbcTemplate.queryForObject("""
+                select count(*) from (
+                    select book_id from book_transaction_history
+                    where id >= ? and return_approved = false
+                    group by book_id having count(*) > 1) conflicts
+                """, Integer.class, firstIds.get(SeedTable.HISTORY));
+        assertEquals(0, conflictingLoans);
+
+        Integer overdue = jdbcTemplate.queryForObject("""
+                select count(*) from book_transaction_history
+                where id >= ? and returned = false and due_date < current_timestamp
+                """, Integer.class, firstIds.get(SeedTable.HISTORY));
+        assertTrue(overdue > 0 && overdue < BOOKS * 0.1, "overdue loans: " + overdue);
+
+        Integer topBookLoans = jdbcTemplate.queryForObject("""
+                select max(loans) from (
+                    select count(*) loans from book_transaction_history where id >= ? group by book_id) counts
+                """, Integer.class, firstIds.get(SeedTable.HISTORY));
+        assertTrue(topBookLoans > 20 * HISTORIES / BOOKS, "top book loans: " + topBookLoans);
+    }
+
+    @Test
+    void seed_RecordsSeededBooksInTheChangeFeed() throws Exception {
+        long lastSequence = lastChangeSequence();
+
+        Map<SeedTable, Long> firstIds = seed(3);
+
+        assertEquals(lastSequence + BOOKS, lastChangeSequence());
+        Map<String, Object> changes = jdbcTemplate.queryForMap("""
+                select count(*) changes, min(sequence) first_sequence, max(sequence) last_sequence
+                from book_change where book_id >= ? and type = 'CREATED'
+                """, firstIds.get(SeedTable.BOOK));
+        assertEquals(BOOKS, ((Number) changes.get("changes")).intValue());
+        assertEquals(lastSequence + 1, ((Number) changes.get("first_sequence")).longValue());
+        assertEquals(lastSequence + BOOKS, ((Number) changes.get("last_sequence")).longValue());
+    }
+
+    @Test
+    void seed_IsDeterministicForTheSameSeed() throws Exception {
+        Map<SeedTable, Long> first = seed(7);
+        Map<SeedTable, Long> second = seed(7);
+
+        assertEquals(loanedBooks(first), loanedBooks(second));
+        assertEquals(titles(first), titles(second));
+    }
+
+    @Test
+    void zipf_FavoursLowRanks() {
+        ZipfDistribution zipf = new ZipfDistribution(1_000_000, 1.1);
+        SplittableRandom random = new SplittableRandom(1);
+        int top = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int rank = zipf.sample(random);
+            assertTrue(rank >= 1 && rank <= 1_000_000);
+            if (rank <= 10) {
+                top++;
+            }
+        }
+        assertTrue(top > 20_000, "samples in the top 10 ranks: " + top);
+    }
+
+    private Map<SeedTable, Long> seed(long seed) throws Exception {
+        DatasetSeeder seeder = new DatasetSeeder(dataSource, jdbcTemplate, roleRepository, passwordEncoder, entityManagerFactory,
+                bookChangeService);
+        ReflectionTestUtils.setField(seeder, "users", USERS);
+        ReflectionTestUtils.setField(seeder, "books", BOOKS);
+        ReflectionTestUtils.setField(seeder, "histories", HISTORIES);
+        ReflectionTestUtils.setField(seeder, "feedbacks", FEEDBACKS);
+        ReflectionTestUtils.setField(seeder, "threads", 3);
+        ReflectionTestUtils.setField(seeder, "chunkSize", 700);
+        ReflectionTestUtils.setField(seeder, "seed", seed);
+        ReflectionTestUtils.setField(seeder, "referenceDate", "");
+        ReflectionTestUtils.setField(seeder, "bookPopularitySkew", 1.1);
+        ReflectionTestUtils.setField(seeder, "authorSkew", 1.2);
+        ReflectionTestUtils.setField(seeder, "userActivitySkew", 0.8);
+        ReflectionTestUtils.setField(seeder, "overdueFraction", 0.04);
+        ReflectionTestUtils.setField(seeder, "activeFraction", 0.03);
+        ReflectionTestUtils.setField(seeder, "pendingApprovalFraction", 0.01);
+        ReflectionTestUtils.setField(seeder, "librarianEvery", 100);
+        Map<SeedTable, Long> firstIds = seeder.seed();
+        seeded.add(firstIds);
+        return firstIds;
+    }
+
+    private long lastChangeSequence() {
+        return jdbcTemplate.queryForObject("select last_sequence from change_sequence where name = 'book_changes'", Long.class);
+    }
+
+    private long count(String table, long firstId) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where id >= ?", Long.class, firstId);
+    }
+
+    private List<Long> loanedBooks(Map<SeedTable, Long> firstIds) {
+        return jdbcTemplate.queryForList("""
+                        select book_id - ? from book_transaction_history
+                        where id >= ? and id < ? order by id
+                        """, Long.class, firstIds.get(SeedTable.BOOK), firstIds.get(SeedTable.HISTORY),
+                firstIds.get(SeedTable.HISTORY) + HISTORIES);
+    }
+
+    private List<String> titles(Map<SeedTable, Long> firstIds) {
+        return jdbcTemplate.queryForList("select title from book where id >= ? and id < ? order by id", String.class,
+                firstIds.get(SeedTable.BOOK), firstIds.get(SeedTable.BOOK) + BOOKS);
+    }
+}
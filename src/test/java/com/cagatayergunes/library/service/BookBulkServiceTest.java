@@ -0,0 +1,206 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.request.BulkBookRequest;
+import com.cagatayergunes.library.model.response.BookChangesResponse;
+import com.cagatayergunes.library.model.response.BookResponse;
+import com.cagatayergunes.library.model.response.BulkUpdateResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.ChangeSequenceRepository;
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class BookBulkServiceTest {
+
+    @Autowired
+    private BookBulkService bulkService;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private BookChangeService bookChangeService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User librarian;
+    private Authentication authentication;
+    private List<Long> poetry;
+    private Long fiction;
+
+    @BeforeEach
+    void setUp() {
+        librarian = userRepository.save(User.builder()
+                .firstName("librarian")
+                .lastName("Tester")
+                .email("bulk-librarian@example.com")
+                .password("secret")
+                .enabled(true)
+                .roles(List.of(roleRepository.findByName(RoleName.LIBRARIAN).orElseThrow()))
+                .build());
+        authentication = new UsernamePasswordAuthenticationToken(librarian, null, librarian.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        poetry = List.of(
+                bookRepository.save(book("Leaves of Grass", "Poetry", true)).getId(),
+                bookRepository.save(book("Ariel", "poetry", false)).getId(),
+                bookRepository.save(book("Howl", "Poetry", true)).getId(),
+                bookRepository.save(book("The Waste Land", "Poetry", true)).getId(),
+                bookRepository.save(book("Odes", "Poetry", true)).getId());
+        fiction = bookRepository.save(book("Emma", "Fiction", true)).getId();
+        ReflectionTestUtils.setField(bulkService, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        bookRepository.deleteAll();
+        userRepository.delete(librarian);
+    }
+
+    @Test
+    void toggleShareable_FlipsEachMatchingBookOnceAcrossBatches() {
+        bookService.findById(poetry.get(0));
+
+        BulkUpdateResponse response = bulkService.toggleShareable(new BulkBookRequest("poetry", null, null, null), authentication);
+
+        assertEquals(5, response.getUpdated());
+        assertEquals(3, response.getBatches());
+        assertFalse(bookService.findById(poetry.get(0)).isShareable());
+        assertTrue(bookRepository.findById(poetry.get(1)).orElseThrow().isShareable());
+        assertTrue(bookRepository.findById(fiction).orElseThrow().isShareable());
+        assertEquals(librarian.getId(), bookRepository.findById(poetry.get(2)).orElseThrow().getLastModifiedBy());
+    }
+
+    @Test
+    void withdrawAndRetag_RecordChangesForAffectedBooks() {
+        long cursor = sequenceRepository.findById(BookChangeService.BOOK_CHANGES).orElseThrow().getLastSequence();
+
+        BulkUpdateResponse withdrawn = bulkService.withdraw(new BulkBookRequest("Poetry", null, true, null), authentication);
+        BulkUpdateResponse retagged = bulkService.retag(new BulkBookRequest("Poetry", null, null, "Verse"), authentication);
+
+        assertEquals(4, withdrawn.getUpdated());
+        assertEquals(5, retagged.getUpdated());
+        assertTrue(bookRepository.findAllById(poetry).stream().noneMatch(Book::isShareable));
+        assertTrue(bookRepository.findAllById(poetry).stream().allMatch(book -> "Verse".equals(book.getGenre())));
+        BookChangesResponse changes = bookService.findChanges(cursor, 100);
+        assertEquals(poetry, changes.getBooks().stream().map(BookResponse::getId).sorted().toList());
+        assertEquals(cursor + 9, changes.getCursor());
+    }
+
+    @Test
+    void singleBookEdit_HoldsBulkBatchUntilItCommits() throws Exception {
+        Long edited = poetry.get(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> edit = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            Book book = bookChangeService.findBookForUpdate(edited).orElseThrow();
+            locked.countDown();
+            await(release);
+            book.setTitle("Leaves of Grass, Deathbed Edition");
+            bookRepository.save(book);
+            bookChangeService.record(edited, BookChangeType.UPDATED);
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<BulkUpdateResponse> bulk = CompletableFuture.supplyAsync(() ->
+                bulkService.withdraw(new BulkBookRequest("Poetry", null, true, null), authentication));
+        Thread.sleep(300);
+        assertFalse(bulk.isDone());
+        release.countDown();
+
+        edit.get(10, TimeUnit.SECONDS);
+        assertEquals(4, bulk.get(10, TimeUnit.SECONDS).getUpdated());
+        Book book = bookRepository.findById(edited).orElseThrow();
+        assertEquals("Leaves of Grass, Deathbed Edition", book.getTitle());
+        assertFalse(book.isShareable());
+    }
+
+    @Test
+    void bulkBatch_HoldsSingleBookEditUntilItCommits() throws Exception {
+        Long edited = poetry.get(0);
+        bookService.findById(edited);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            bookChangeService.lockSequence();
+            List<Long> bookIds = bookRepository.findIdsMatchingForUpdate(0, "Poetry", null, true, Limit.of(10));
+            bookRepository.withdraw(bookIds, LocalDateTime.now(), librarian.getId());
+            bookChangeService.recordAll(bookIds, BookChangeType.UPDATED);
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<BookResponse> toggle = CompletableFuture.supplyAsync(() -> bookService.updateShareableStatus(edited));
+        Thread.sleep(300);
+        assertFalse(toggle.isDone());
+        release.countDown();
+
+        batch.get(10, TimeUnit.SECONDS);
+        assertTrue(toggle.get(10, TimeUnit.SECONDS).isShareable());
+        assertTrue(bookRepository.findById(edited).orElseThrow().isShareable());
+    }
+
+    @Test
+    void bulkUpdates_RequireFilterAndNewGenre() {
+        BulkBookRequest unfiltered = new BulkBookRequest(null, null, null, null);
+        BulkBookRequest withoutGenre = new BulkBookRequest("Poetry", null, null, " ");
+
+        assertThrows(OperationNotPermittedException.class, () -> bulkService.withdraw(unfiltered, authentication));
+        assertThrows(OperationNotPermittedException.class, () -> bulkService.retag(withoutGenre, authentication));
+        assertTrue(bookRepository.findById(fiction).orElseThrow().isShareable());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Book book(String title, String genre, boolean shareable) {
+        return Book.builder()
+                .title(title)
+                .authorName("Author")
+                .isbn("9780000000000")
+                .genre(genre)
+                .shareable(shareable)
+                .createdBy(librarian.getId())
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.BookChangeType;
+import com.cagatayergunes.library.model.RoleName;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.request.BookRequest;
+import com.cagatayergunes.library.model.response.BookChangesResponse;
+import com.cagatayergunes.library.model.response.BookResponse;
+import com.cagatayergunes.library.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class BookChangeFeedTest {
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private ReactiveBookService reactiveBookService;
+    @Autowired
+    private BookChangeService bookChangeService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookChangeRepository changeRepository;
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private User librarian;
+
+    @BeforeEach
+    void setUp() {
+        librarian = userRepository.save(User.builder()
+                .firstName("librarian")
+                .lastName("Tester")
+                .email("feed-librarian@example.com")
+                .password("secret")
+                .enabled(true)
+                .roles(List.of(roleRepository.findByName(RoleName.LIBRARIAN).orElseThrow()))
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(librarian, null, librarian.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        bookRepository.deleteAll();
+        userRepository.delete(librarian);
+    }
+
+    @Test
+    void findChanges_ReturnsOnlyBooksChangedSinceCursor() {
+        Long untouched = bookService.save(request("Emma"));
+        Long removed = bookService.save(request("Ulysses"));
+        long cursor = currentSequence();
+
+        Long created = bookService.save(request("Dune"));
+        bookService.updateBook(created, request("Dune Messiah"));
+        bookService.updateShareableStatus(created);
+        bookService.deleteBook(removed);
+
+        BookChangesResponse changes = bookService.findChanges(cursor, 100);
+
+        assertEquals(List.of(created), changes.getBooks().stream().map(BookResponse::getId).toList());
+        assertEquals("Dune Messiah", changes.getBooks().get(0).getTitle());
+        assertFalse(changes.getBooks().get(0).isShareable());
+        assertEquals(List.of(removed), changes.getDeletedBookIds());
+        assertEquals(cursor + 4, changes.getCursor());
+        assertFalse(changes.isHasMore());
+        assertFalse(changes.getBooks().stream().anyMatch(book -> book.getId().equals(untouched)));
+
+        BookChangesResponse nothingNew = bookService.findChanges(changes.getCursor(), 100);
+        assertTrue(nothingNew.getBooks().isEmpty());
+        assertEquals(changes.getCursor(), nothingNew.getCursor());
+    }
+
+    @Test
+    void reactiveShareableToggle_IsRecordedAsUpdate() {
+        Long book = bookService.save(request("Solaris"));
+        long cursor = currentSequence();
+
+        reactiveBookService.updateShareableStatus(book).block();
+
+        BookChangesResponse changes = bookService.findChanges(cursor, 100);
+        assertEquals(List.of(book), changes.getBooks().stream().map(BookResponse::getId).toList());
+        assertFalse(changes.getBooks().get(0).isShareable());
+        assertEquals(cursor + 1, changes.getCursor());
+    }
+
+    @Test
+    void record_RequiresSurroundingTransaction() {
+        assertThrows(IllegalTransactionStateException.class, () -> bookChangeService.record(1L, BookChangeType.UPDATED));
+    }
+
+    @Test
+    void initialize_BackfillsExistingBooks() {
+        Book existing = bookRepository.save(Book.builder()
+                .title("Middlemarch")
+                .authorName("George Eliot")
+                .createdBy(librarian.getId())
+                .build());
+        changeRepository.deleteAllInBatch();
+        sequenceRepository.deleteAll();
+
+        bookChangeService.initialize();
+
+        assertEquals(existing.getId(), currentSequence());
+        BookChangesResponse changes = bookService.findChanges(0, 100);
+        assertEquals(List.of(existing.getId()), changes.getBooks().stream().map(BookResponse::getId).toList());
+    }
+
+    private long currentSequence() {
+        return sequenceRepository.findById(BookChangeService.BOOK_CHANGES).orElseThrow().getLastSequence();
+    }
+
+    private BookRequest request(String title) {
+        return new BookRequest(null, title, "Author", "9780000000000", "Synopsis", "Fiction", LocalDate.of(2000, 1, 1), true);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class BookPurgeServiceTest {
+
+    @Autowired
+    private BookPurgeService purgeService;
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private BookTransactionHistoryRepository historyRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User librarian;
+    private Book book;
+    private Book kept;
+
+    @BeforeEach
+    void setUp() {
+        librarian = userRepository.save(User.builder()
+                .firstName("librarian")
+                .lastName("Tester")
+                .email("purge-librarian@example.com")
+                .password("secret")
+                .enabled(true)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(librarian, null, List.of()));
+
+        book = bookRepository.save(book("Dune"));
+        kept = bookRepository.save(book("Emma"));
+        List<Feedback> feedbacks = new ArrayList<>();
+        List<BookTransactionHistory> histories = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            feedbacks.add(Feedback.builder().book(book).note(4.0).comment("Review " + i).createdBy(librarian.getId()).build());
+            histories.add(history(book));
+        }
+        feedbacks.add(Feedback.builder().book(kept).note(5.0).comment("Keep").createdBy(librarian.getId()).build());
+        histories.add(history(kept));
+        feedbackRepository.saveAll(feedbacks);
+        historyRepository.saveAll(histories);
+        ReflectionTestUtils.setField(purgeService, "batchSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        historyRepository.deleteAll();
+        feedbackRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.delete(librarian);
+    }
+
+    @Test
+    void deleteBook_HidesBookUntilPurged() {
+        bookService.deleteBook(book.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.findById(book.getId()));
+        assertEquals(1, bookService.searchBooks(0, 10, "", "", "", "").getContent().size());
+        assertTrue(bookRepository.existsById(book.getId()));
+        assertEquals(8, feedbackRepository.count());
+    }
+
+    @Test
+    void purgeDeletedBooks_RemovesChildrenWithBulkDeletes() {
+        bookService.deleteBook(book.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        purgeService.purgeDeletedBooks();
+
+        assertFalse(bookRepository.existsById(book.getId()));
+        assertTrue(bookRepository.existsById(kept.getId()));
+        assertEquals(1, feedbackRepository.count());
+        assertEquals(1, historyRepository.count());
+        assertEquals(0, statistics.getEntityStatistics(Feedback.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(BookTransactionHistory.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+    }
+
+    private Book book(String title) {
+        return Book.builder()
+                .title(title)
+                .authorName("Author")
+                .isbn("9780000000000")
+                .genre("Fiction")
+                .shareable(true)
+                .createdBy(librarian.getId())
+                .build();
+    }
+
+    private BookTransactionHistory history(Book target) {
+        return BookTransactionHistory.builder()
+                .book(target)
+                .user(librarian)
+                .borrowDate(LocalDateTime.now().minusDays(3))
+                .dueDate(LocalDateTime.now().plusDays(11))
+                .returned(true)
+                .returnApproved(true)
+                .createdBy(librarian.getId())
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.model.response.BookResponse;
+import com.cagatayergunes.library.model.response.BorrowedBookResponse;
+import com.cagatayergunes.library.model.response.PageResponse;
+import com.cagatayergunes.library.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class BookServiceFetchPlanTest {
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BookTransactionHistoryRepository historyRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private Book book;
+    private User librarian;
+    private User patron;
+
+    @BeforeEach
+    void setUp() {
+        librarian = userRepository.save(user("librarian@example.com", RoleName.LIBRARIAN));
+        patron = userRepository.save(user("patron@example.com", RoleName.PATRON));
+
+        book = bookRepository.save(Book.builder()
+                .title("Dune")
+                .authorName("Frank Herbert")
+                .isbn("9780441013593")
+                .genre("Science Fiction")
+                .publicationDate(LocalDate.of(1965, 8, 1))
+                .shareable(true)
+                .createdBy(librarian.getId())
+                .build());
+        Book returnedBook = bookRepository.save(Book.builder()
+                .title("Emma")
+                .authorName("Jane Austen")
+                .isbn("9780141439587")
+                .genre("Classic")
+                .shareable(true)
+                .createdBy(librarian.getId())
+                .build());
+
+        feedbackRepository.saveAll(List.of(
+                Feedback.builder().book(book).note(4.0).comment("Good").createdBy(patron.getId()).build(),
+                Feedback.builder().book(book).note(5.0).comment("Great").createdBy(librarian.getId()).build()));
+
+        historyRepository.saveAll(List.of(
+                BookTransactionHistory.builder()
+                        .book(book)
+                        .user(patron)
+                        .borrowDate(LocalDateTime.now().minusWeeks(3))
+                        .dueDate(LocalDateTime.now().minusWeeks(1))
+                        .createdBy(patron.getId())
+                        .build(),
+                BookTransactionHistory.builder()
+                        .book(returnedBook)
+                        .user(patron)
+                        .borrowDate(LocalDateTime.now().minusWeeks(2))
+                        .dueDate(LocalDateTime.now().plusDays(1))
+                        .returned(true)
+                        .createdBy(patron.getId())
+                        .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyRepository.deleteAll();
+        feedbackRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll(List.of(librarian, patron));
+    }
+
+    @Test
+    void findById_ComputesRateWithoutOpenSession() {
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+
+        BookResponse response = bookService.findById(book.getId());
+
+        assertEquals("Dune", response.getTitle());
+        assertEquals(4.5, response.getRate());
+    }
+
+    @Test
+    void catalogPages_ResolveRatesWithoutLazyLoading() {
+        PageResponse<BookResponse> catalog = bookService.findAllBooks(0, 10);
+        PageResponse<BookResponse> search = bookService.searchBooks(0, 10, "Dune", "", "", "");
+
+        assertEquals(2, catalog.getContent().size());
+        assertEquals(4.5, catalog.getContent().stream().filter(b -> b.getId().equals(book.getId())).findFirst().orElseThrow().getRate());
+        assertEquals(1, search.getContent().size());
+        assertEquals(4.5, search.getContent().get(0).getRate());
+    }
+
+    @Test
+    void borrowedAndReturnedLists_UseEntityGraph() {
+        PageResponse<BorrowedBookResponse> borrowed = bookService.findAllBorrowedBooks(0, 10, authentication(patron));
+        PageResponse<BorrowedBookResponse> returned = bookService.findAllReturnedBooks(0, 10, authentication(librarian));
+
+        assertEquals(2, borrowed.getContent().size());
+        assertTrue(borrowed.getContent().stream().allMatch(b -> b.getEmail().equals("patron@example.com")));
+        assertEquals(4.5, borrowed.getContent().stream().filter(b -> b.getTitle().equals("Dune")).findFirst().orElseThrow().getRate());
+        assertEquals(1, returned.getContent().size());
+        assertEquals("Emma", returned.getContent().get(0).getTitle());
+    }
+
+    @Test
+    void overdueReport_FetchesBookAndUserUpFront() {
+        String report = bookService.generateOverdueBooksReport();
+
+        assertTrue(report.contains("Title: Dune"));
+        assertTrue(report.contains("(patron@example.com)"));
+        assertFalse(report.contains("Emma"));
+    }
+
+    private User user(String email, RoleName roleName) {
+        return User.builder()
+                .firstName(roleName.name().toLowerCase())
+                .lastName("Tester")
+                .email(email)
+                .password("secret")
+                .enabled(true)
+                .roles(List.of(roleRepository.findByName(roleName).orElseThrow()))
+                .build();
+    }
+
+    private Authentication authentication(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
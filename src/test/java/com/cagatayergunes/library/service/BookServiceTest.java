@@ -4,11 +4,14 @@ import com.cagatayergunes.library.exception.handler.OperationNotPermittedExcepti
 import com.cagatayergunes.library.model.*;
 import com.cagatayergunes.library.model.mapper.BookMapper;
 import com.cagatayergunes.library.model.request.BookRequest;
+import com.cagatayergunes.library.model.response.BookChangesResponse;
 import com.cagatayergunes.library.model.response.BookResponse;
 import com.cagatayergunes.library.model.response.BorrowedBookResponse;
 import com.cagatayergunes.library.model.response.PageResponse;
+import com.cagatayergunes.library.repository.BookChangeRepository;
 import com.cagatayergunes.library.repository.BookRepository;
 import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.FeedbackRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +20,7 @@ import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +37,12 @@ class BookServiceTest {
     private BookMapper bookMapper;
     @Mock
     private BookTransactionHistoryRepository historyRepository;
+    @Mock
+    private FeedbackRepository feedbackRepository;
+    @Mock
+    private BookChangeRepository bookChangeRepository;
+    @Mock
+    private BookChangeService bookChangeService;
 
     @BeforeEach
     void setUp() {
@@ -63,6 +73,7 @@ class BookServiceTest {
         Long savedId = bookService.save(request);
         assertEquals(1L, savedId);
         verify(bookRepository).save(book);
+        verify(bookChangeService).record(1L, BookChangeType.CREATED);
     }
 
     @Test
@@ -71,7 +82,7 @@ class BookServiceTest {
         BookResponse response = BookResponse.builder().id(1L).title("Test").build();
 
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookMapper.toBookResponse(book)).thenReturn(response);
+        when(bookMapper.toBookResponse(eq(book), anyDouble())).thenReturn(response);
 
         BookResponse result = bookService.findById(1L);
         assertEquals("Test", result.getTitle());
@@ -89,9 +100,9 @@ class BookServiceTest {
         BookRequest request = sampleRequest();
         Book existingBook = Book.builder().id(1L).title("Old").build();
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
+        when(bookChangeService.findBookForUpdate(1L)).thenReturn(Optional.of(existingBook));
         when(bookRepository.save(any(Book.class))).thenReturn(existingBook);
-        when(bookMapper.toBookResponse(existingBook)).thenReturn(new BookResponse());
+        when(bookMapper.toBookResponse(eq(existingBook), anyDouble())).thenReturn(new BookResponse());
 
         BookResponse response = bookService.updateBook(1L, request);
         assertNotNull(response);
@@ -101,13 +112,14 @@ class BookServiceTest {
     @Test
     void testUpdateShareableStatus() {
         Book book = Book.builder().id(1L).shareable(true).build();
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookChangeService.findBookForUpdate(1L)).thenReturn(Optional.of(book));
         when(bookRepository.save(book)).thenReturn(book);
-        when(bookMapper.toBookResponse(book)).thenReturn(BookResponse.builder().shareable(false).build());
+        when(bookMapper.toBookResponse(eq(book), anyDouble())).thenReturn(BookResponse.builder().shareable(false).build());
 
         BookResponse response = bookService.updateShareableStatus(1L);
         assertFalse(response.isShareable());
         verify(bookRepository).save(book);
+        verify(bookChangeService).record(1L, BookChangeType.UPDATED);
     }
 
     @Test
@@ -122,7 +134,7 @@ class BookServiceTest {
 
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
         when(historyRepository.isAlreadyBorrowedByUser(1L)).thenReturn(false);
-        when(bookMapper.toBorrowedBookResponse(any())).thenReturn(expectedResponse);
+        when(bookMapper.toBorrowedBookResponse(any(), anyDouble())).thenReturn(expectedResponse);
 
         BorrowedBookResponse response = bookService.borrowBook(1L, authentication);
 
@@ -165,7 +177,7 @@ class BookServiceTest {
 
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
         when(historyRepository.findByBookAndReturnApprovedFalseAndReturnedFalse(book)).thenReturn(Optional.of(history));
-        when(bookMapper.toBorrowedBookResponse(history)).thenReturn(new BorrowedBookResponse());
+        when(bookMapper.toBorrowedBookResponse(eq(history), anyDouble())).thenReturn(new BorrowedBookResponse());
 
         BorrowedBookResponse response = bookService.returnBorrowedBook(1L);
         assertNotNull(response);
@@ -197,7 +209,7 @@ class BookServiceTest {
 
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
         when(historyRepository.findByBookAndReturnApprovedFalseAndReturnedTrue(book)).thenReturn(Optional.of(history));
-        when(bookMapper.toBorrowedBookResponse(history)).thenReturn(new BorrowedBookResponse());
+        when(bookMapper.toBorrowedBookResponse(eq(history), anyDouble())).thenReturn(new BorrowedBookResponse());
 
         BorrowedBookResponse response = bookService.approveReturnBorrowedBook(1L);
         assertNotNull(response);
@@ -232,18 +244,18 @@ class BookServiceTest {
 
         Page<Book> bookPage = new PageImpl<>(List.of(book), PageRequest.of(0, 10), 1);
 
-        when(bookRepository.findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCase(
+        when(bookRepository.findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCaseAndDeletedAtIsNull(
                 eq("Test"), eq("Author"), eq("123456"), eq("Fiction"), any(Pageable.class)
         )).thenReturn(bookPage);
 
-        when(bookMapper.toBookResponse(book)).thenReturn(bookResponse);
+        when(bookMapper.toBookResponse(eq(book), anyDouble())).thenReturn(bookResponse);
 
         PageResponse<BookResponse> result = bookService.searchBooks(0, 10, "Test", "Author", "123456", "Fiction");
 
         assertEquals(1, result.getContent().size());
         assertEquals("Test Book", result.getContent().get(0).getTitle());
         assertEquals(1, result.getTotalElements());
-        verify(bookRepository).findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCase(
+        verify(bookRepository).findByTitleContainingIgnoreCaseAndAuthorNameContainingIgnoreCaseAndIsbnContainingIgnoreCaseAndGenreContainingIgnoreCaseAndDeletedAtIsNull(
                 eq("Test"), eq("Author"), eq("123456"), eq("Fiction"), any(Pageable.class)
         );
     }
@@ -252,11 +264,62 @@ class BookServiceTest {
     void testDeleteBook() {
         Book book = Book.builder().id(1L).title("To Delete").build();
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookChangeService.findBookForUpdate(1L)).thenReturn(Optional.of(book));
 
         bookService.deleteBook(1L);
 
-        verify(bookRepository).delete(book);
+        assertTrue(book.isDeleted());
+        verify(bookRepository).save(book);
+        verify(bookRepository, never()).delete(any(Book.class));
+        verify(bookChangeService).record(1L, BookChangeType.DELETED);
+    }
+
+    @Test
+    void testDeleteBook_AlreadyDeleted() {
+        Book book = Book.builder().id(1L).title("Deleted").deletedAt(LocalDateTime.now()).build();
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookChangeService.findBookForUpdate(1L)).thenReturn(Optional.of(book));
+
+        assertThrows(EntityNotFoundException.class, () -> bookService.deleteBook(1L));
+        assertThrows(EntityNotFoundException.class, () -> bookService.findById(1L));
+    }
+
+    @Test
+    void testFindChanges_CompactsChangesPerBook() {
+        Book updated = Book.builder().id(2L).title("Updated").build();
+        when(bookChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Limit.class))).thenReturn(List.of(
+                change(11L, 2L, BookChangeType.CREATED),
+                change(12L, 3L, BookChangeType.UPDATED),
+                change(13L, 2L, BookChangeType.UPDATED),
+                change(14L, 3L, BookChangeType.DELETED),
+                change(15L, 4L, BookChangeType.UPDATED)));
+        when(bookRepository.findAllById(List.of(2L, 4L))).thenReturn(List.of(updated));
+        when(bookMapper.toBookResponse(eq(updated), anyDouble())).thenReturn(BookResponse.builder().id(2L).build());
+
+        BookChangesResponse response = bookService.findChanges(10L, 5);
+
+        assertEquals(List.of(2L), response.getBooks().stream().map(BookResponse::getId).toList());
+        assertEquals(List.of(3L, 4L), response.getDeletedBookIds());
+        assertEquals(15L, response.getCursor());
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void testFindChanges_ReturnsCursorOfLastChangeInPage() {
+        when(bookChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), eq(Limit.of(3)))).thenReturn(List.of(
+                change(1L, 1L, BookChangeType.DELETED),
+                change(2L, 2L, BookChangeType.DELETED),
+                change(3L, 3L, BookChangeType.DELETED)));
+
+        BookChangesResponse response = bookService.findChanges(0L, 2);
+
+        assertEquals(List.of(1L, 2L), response.getDeletedBookIds());
+        assertEquals(2L, response.getCursor());
+        assertTrue(response.isHasMore());
+    }
+
+    private BookChange change(long sequence, long bookId, BookChangeType type) {
+        return BookChange.builder().sequence(sequence).bookId(bookId).type(type).build();
     }
 
 }
@@ -0,0 +1,74 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.response.CacheRegionStatisticsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheStatisticsServiceTest {
+
+    private Statistics statistics;
+    private CacheStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        statistics = mock(Statistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        service = new CacheStatisticsService(entityManagerFactory);
+    }
+
+    @Test
+    void getRegionStatistics_ReportsHitRatioPerRegion() {
+        CacheRegionStatistics roleRegion = region(9, 1, 1, 3);
+        CacheRegionStatistics bookRegion = region(0, 0, 0, Long.MIN_VALUE);
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{
+                "com.cagatayergunes.library.model.Role", "com.cagatayergunes.library.model.Book"});
+        when(statistics.getCacheRegionStatistics("com.cagatayergunes.library.model.Role")).thenReturn(roleRegion);
+        when(statistics.getCacheRegionStatistics("com.cagatayergunes.library.model.Book")).thenReturn(bookRegion);
+
+        List<CacheRegionStatisticsResponse> result = service.getRegionStatistics();
+
+        assertEquals(2, result.size());
+        assertEquals("com.cagatayergunes.library.model.Book", result.get(0).getRegion());
+        assertEquals(0.0, result.get(0).getHitRatio());
+        assertNull(result.get(0).getElementCountInMemory());
+        assertEquals(9, result.get(1).getHitCount());
+        assertEquals(3L, result.get(1).getElementCountInMemory());
+        assertEquals(0.9, result.get(1).getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void getRegionStatistics_SkipsRegionsWithoutStatistics() {
+        when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"default-query-results-region"});
+
+        assertTrue(service.getRegionStatistics().isEmpty());
+    }
+
+    @Test
+    void clearStatistics_ResetsCounters() {
+        service.clearStatistics();
+
+        verify(statistics).clear();
+    }
+
+    private CacheRegionStatistics region(long hits, long misses, long puts, long elements) {
+        CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+        when(region.getHitCount()).thenReturn(hits);
+        when(region.getMissCount()).thenReturn(misses);
+        when(region.getPutCount()).thenReturn(puts);
+        when(region.getElementCountInMemory()).thenReturn(elements);
+        return region;
+    }
+}
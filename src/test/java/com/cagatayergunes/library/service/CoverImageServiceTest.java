@@ -0,0 +1,145 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.response.CoverImageResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CoverImageServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BookRepository bookRepository;
+    private BookChangeService bookChangeService;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        book = Book.builder().id(7L).title("Dune").build();
+        bookChangeService = mock(BookChangeService.class);
+        when(bookChangeService.findBookForUpdate(7L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void upload_StoresCoverUnderItsHashAndGeneratesThumbnail() throws Exception {
+        CoverImageService service = service(new SyncTaskExecutor());
+
+        CoverImageResponse response = service.upload(7L, image("png", 600, 900));
+
+        assertEquals("image/png", response.getContentType());
+        assertFalse(response.isDeduplicated());
+        assertEquals(response.getCoverImage(), book.getCoverImage());
+        assertTrue(Files.exists(tempDir.resolve(response.getCoverImage().substring(0, 2)).resolve(response.getCoverImage())));
+
+        StoredFile thumbnail = service.getCover(response.getCoverImage(), true);
+        assertTrue(thumbnail.immutable());
+        assertEquals("image/jpeg", thumbnail.contentType());
+        BufferedImage scaled = ImageIO.read(thumbnail.path().toFile());
+        assertEquals(160, scaled.getWidth());
+        assertEquals(240, scaled.getHeight());
+
+        try (Stream<Path> incoming = Files.list(tempDir.resolve("incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void upload_DeduplicatesIdenticalContent() throws Exception {
+        CoverImageService service = service(new SyncTaskExecutor());
+        MockMultipartFile file = image("jpg", 100, 100);
+
+        CoverImageResponse first = service.upload(7L, file);
+        CoverImageResponse second = service.upload(7L, file);
+
+        assertEquals(first.getCoverImage(), second.getCoverImage());
+        assertTrue(second.isDeduplicated());
+        try (Stream<Path> files = Files.list(tempDir.resolve(first.getCoverImage().substring(0, 2)))) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void upload_RejectsFilesThatAreNotImages() {
+        CoverImageService service = service(new SyncTaskExecutor());
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", "<svg/>".getBytes());
+
+        assertThrows(OperationNotPermittedException.class, () -> service.upload(7L, file));
+        assertNull(book.getCoverImage());
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void upload_RejectsOversizedFiles() throws Exception {
+        CoverImageService service = service(new SyncTaskExecutor());
+        ReflectionTestUtils.setField(service, "maxSize", DataSize.ofBytes(64));
+
+        MockMultipartFile file = image("png", 300, 300);
+        assertThrows(OperationNotPermittedException.class, () -> service.upload(7L, file));
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void getCover_FallsBackToOriginalUntilThumbnailExists() throws Exception {
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("queue full");
+        };
+        CoverImageService service = service(rejecting);
+        CoverImageResponse response = service.upload(7L, image("png", 50, 50));
+
+        StoredFile cover = service.getCover(response.getCoverImage(), true);
+
+        assertFalse(cover.immutable());
+        assertEquals("image/png", cover.contentType());
+        assertEquals(response.getCoverImage(), cover.path().getFileName().toString());
+    }
+
+    @Test
+    void getCover_RejectsMalformedHashes() {
+        CoverImageService service = service(new SyncTaskExecutor());
+
+        assertThrows(EntityNotFoundException.class, () -> service.getCover("../../etc/passwd", false));
+        assertThrows(EntityNotFoundException.class, () -> service.getCover("a".repeat(64), false));
+    }
+
+    private CoverImageService service(TaskExecutor executor) {
+        CoverImageService service = new CoverImageService(bookRepository, bookChangeService, executor);
+        ReflectionTestUtils.setField(service, "coverDirectory", tempDir);
+        ReflectionTestUtils.setField(service, "maxSize", DataSize.ofMegabytes(5));
+        ReflectionTestUtils.setField(service, "thumbnailSize", 240);
+        ReflectionTestUtils.setField(service, "maxPixels", 40_000_000L);
+        return service;
+    }
+
+    private MockMultipartFile image(String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format, bytes);
+        return new MockMultipartFile("file", "cover." + format, "image/" + format, bytes.toByteArray());
+    }
+}
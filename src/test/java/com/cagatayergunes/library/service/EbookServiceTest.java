@@ -0,0 +1,155 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.DownloadLimitExceededException;
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.Book;
+import com.cagatayergunes.library.model.User;
+import com.cagatayergunes.library.model.response.EbookResponse;
+import com.cagatayergunes.library.repository.BookRepository;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EbookServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BookRepository bookRepository;
+    private BookTransactionHistoryRepository historyRepository;
+    private EbookService service;
+    private Book book;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        historyRepository = mock(BookTransactionHistoryRepository.class);
+        book = Book.builder().id(7L).title("Dune: Messiah").build();
+        when(bookRepository.findById(7L)).thenReturn(Optional.of(book));
+        BookChangeService bookChangeService = mock(BookChangeService.class);
+        when(bookChangeService.findBookForUpdate(7L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(User.builder().id(3L).build());
+
+        service = new EbookService(bookRepository, historyRepository, bookChangeService);
+        ReflectionTestUtils.setField(service, "ebookDirectory", tempDir);
+        ReflectionTestUtils.setField(service, "maxSize", DataSize.ofMegabytes(50));
+        ReflectionTestUtils.setField(service, "concurrentDownloads", 2);
+    }
+
+    @Test
+    void upload_StoresPdfUnderItsHash() throws Exception {
+        EbookResponse response = service.upload(7L, new MockMultipartFile("file", "dune.pdf", "application/pdf", pdf()));
+
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals(response.getEbookFile(), book.getEbookFile());
+        assertTrue(Files.exists(tempDir.resolve(response.getEbookFile().substring(0, 2)).resolve(response.getEbookFile())));
+    }
+
+    @Test
+    void upload_DetectsEpubAndRejectsOtherArchives() throws Exception {
+        EbookResponse response = service.upload(7L, new MockMultipartFile("file", "dune.epub", null, zip("application/epub+zip")));
+        assertEquals("application/epub+zip", response.getContentType());
+
+        MockMultipartFile archive = new MockMultipartFile("file", "dune.epub", null, zip("application/zip"));
+        assertThrows(OperationNotPermittedException.class, () -> service.upload(7L, archive));
+    }
+
+    @Test
+    void openDownload_RequiresActiveLoan() throws Exception {
+        service.upload(7L, new MockMultipartFile("file", "dune.pdf", "application/pdf", pdf()));
+        when(historyRepository.hasActiveLoan(7L, 3L)).thenReturn(false);
+
+        assertThrows(OperationNotPermittedException.class, () -> service.openDownload(7L, authentication));
+    }
+
+    @Test
+    void openDownload_RejectsBookWithoutDigitalCopy() {
+        when(historyRepository.hasActiveLoan(7L, 3L)).thenReturn(true);
+
+        assertThrows(EntityNotFoundException.class, () -> service.openDownload(7L, authentication));
+    }
+
+    @Test
+    void openDownload_LimitsConcurrentDownloadsPerUser() throws Exception {
+        service.upload(7L, new MockMultipartFile("file", "dune.pdf", "application/pdf", pdf()));
+        when(historyRepository.hasActiveLoan(7L, 3L)).thenReturn(true);
+
+        EbookDownload first = service.openDownload(7L, authentication);
+        EbookDownload second = service.openDownload(7L, authentication);
+        assertEquals("Dune_ Messiah.pdf", first.getFileName());
+        assertEquals("application/pdf", first.getFile().contentType());
+        assertThrows(DownloadLimitExceededException.class, () -> service.openDownload(7L, authentication));
+
+        first.close();
+        first.close();
+        EbookDownload third = service.openDownload(7L, authentication);
+        assertThrows(DownloadLimitExceededException.class, () -> service.openDownload(7L, authentication));
+        second.close();
+        third.close();
+        assertEquals(0, service.trackedDownloadUsers());
+    }
+
+    @Test
+    void openDownload_DropsPermitsOnceAllDownloadsClose() throws Exception {
+        service.upload(7L, new MockMultipartFile("file", "dune.pdf", "application/pdf", pdf()));
+        when(historyRepository.hasActiveLoan(7L, 3L)).thenReturn(true);
+
+        EbookDownload first = service.openDownload(7L, authentication);
+        EbookDownload second = service.openDownload(7L, authentication);
+        first.close();
+        assertEquals(1, service.trackedDownloadUsers());
+
+        second.close();
+        assertEquals(0, service.trackedDownloadUsers());
+        service.openDownload(7L, authentication).close();
+        assertEquals(0, service.trackedDownloadUsers());
+    }
+
+    private byte[] pdf() {
+        return "%PDF-1.7\n%test\n1 0 obj << >> endobj\n%%EOF\n".getBytes(US_ASCII);
+    }
+
+    private byte[] zip(String mimetype) throws Exception {
+        byte[] content = mimetype.getBytes(US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry("mimetype");
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCrc(crc.getValue());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("content.opf"));
+            zip.write("<package/>".getBytes(US_ASCII));
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,188 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.EmailOutbox;
+import com.cagatayergunes.library.model.EmailOutboxStatus;
+import com.cagatayergunes.library.model.EmailTemplateName;
+import com.cagatayergunes.library.repository.EmailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    @InjectMocks
+    private EmailOutboxDispatcher dispatcher;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private JavaMailSender mailSender;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "sendLease", Duration.ofMinutes(5));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction = false;
+            }
+        });
+        when(emailOutboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void dispatchBatch_SendsWholeBatchOverOneTransport() throws Exception {
+        EmailOutbox first = outbox(1L, 0);
+        EmailOutbox second = outbox(2L, 0);
+        due(first, second);
+        when(emailService.buildMessage(any())).thenAnswer(invocation -> newMessage());
+
+        int processed = dispatcher.dispatchBatch();
+
+        assertEquals(2, processed);
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        assertEquals(EmailOutboxStatus.SENT, first.getStatus());
+        assertEquals(EmailOutboxStatus.SENT, second.getStatus());
+        assertNotNull(first.getSentAt());
+        assertEquals(2, dispatcher.getSentCount());
+    }
+
+    @Test
+    void dispatchBatch_ReschedulesFailedMessagesWithBackoff() throws Exception {
+        EmailOutbox ok = outbox(1L, 0);
+        EmailOutbox failing = outbox(2L, 0);
+        MimeMessage okMessage = newMessage();
+        MimeMessage failingMessage = newMessage();
+        due(ok, failing);
+        when(emailService.buildMessage(ok)).thenReturn(okMessage);
+        when(emailService.buildMessage(failing)).thenReturn(failingMessage);
+        doThrow(new MailSendException(Map.of(failingMessage, new Exception("mailbox unavailable"))))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(EmailOutboxStatus.SENT, ok.getStatus());
+        assertEquals(EmailOutboxStatus.PENDING, failing.getStatus());
+        assertEquals(1, failing.getAttempts());
+        assertEquals("mailbox unavailable", failing.getLastError());
+        assertTrue(failing.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertEquals(1, dispatcher.getRetriedCount());
+    }
+
+    @Test
+    void dispatchBatch_DeadLettersAfterMaxAttempts() throws Exception {
+        EmailOutbox exhausted = outbox(1L, 2);
+        due(exhausted);
+        when(emailService.buildMessage(any())).thenAnswer(invocation -> newMessage());
+        doThrow(new MailSendException("Connection refused"))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(EmailOutboxStatus.DEAD, exhausted.getStatus());
+        assertEquals(3, exhausted.getAttempts());
+        assertEquals(1, dispatcher.getDeadLetteredCount());
+    }
+
+    @Test
+    void dispatchBatch_NothingDue() {
+        when(emailOutboxRepository.findDueForDispatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void dispatchBatch_SendsOutsideTheClaimTransaction() throws Exception {
+        EmailOutbox outbox = outbox(1L, 0);
+        due(outbox);
+        when(emailService.buildMessage(any())).thenAnswer(invocation -> newMessage());
+        doAnswer(invocation -> {
+            assertFalse(inTransaction);
+            assertTrue(outbox.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.dispatchBatch();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(EmailOutboxStatus.SENT, outbox.getStatus());
+    }
+
+    @Test
+    void dispatchBatch_LeavesEmailsWhoseLeaseWasLost() throws Exception {
+        EmailOutbox outbox = outbox(1L, 0);
+        when(emailOutboxRepository.findDueForDispatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(outbox));
+        when(emailOutboxRepository.findLeasedForUpdate(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of());
+        when(emailService.buildMessage(any())).thenAnswer(invocation -> newMessage());
+
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        assertEquals(EmailOutboxStatus.PENDING, outbox.getStatus());
+        assertEquals(0, outbox.getAttempts());
+        assertEquals(0, dispatcher.getSentCount());
+    }
+
+    private void due(EmailOutbox... batch) {
+        when(emailOutboxRepository.findDueForDispatch(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(batch));
+        when(emailOutboxRepository.findLeasedForUpdate(eq(Arrays.stream(batch).map(EmailOutbox::getId).toList()), any(LocalDateTime.class)))
+                .thenReturn(List.of(batch));
+    }
+
+    private EmailOutbox outbox(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient("user" + id + "@example.com")
+                .username("User " + id)
+                .template(EmailTemplateName.ACTIVATE_ACCOUNT)
+                .subject("Account Activation")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private MimeMessage newMessage() {
+        return new MimeMessage(Session.getInstance(new Properties()));
+    }
+}
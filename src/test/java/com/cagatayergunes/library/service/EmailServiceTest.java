@@ -0,0 +1,50 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.EmailOutbox;
+import com.cagatayergunes.library.model.EmailOutboxStatus;
+import com.cagatayergunes.library.model.EmailTemplateName;
+import com.cagatayergunes.library.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailServiceTest {
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @Mock
+    private JavaMailSender mailSender;
+    @Mock
+    private EmailTemplateRenderer templateRenderer;
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void sendEmail_QueuesPendingOutboxRow() {
+        emailService.sendEmail("john@example.com", "John Doe", EmailTemplateName.ACTIVATE_ACCOUNT,
+                "http://localhost/activate", "123456", "Account Activation");
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        EmailOutbox outbox = captor.getValue();
+        assertEquals("john@example.com", outbox.getRecipient());
+        assertEquals("123456", outbox.getActivationCode());
+        assertEquals(EmailOutboxStatus.PENDING, outbox.getStatus());
+        assertEquals(0, outbox.getAttempts());
+        assertNotNull(outbox.getNextAttemptAt());
+        verifyNoInteractions(mailSender, templateRenderer);
+    }
+}
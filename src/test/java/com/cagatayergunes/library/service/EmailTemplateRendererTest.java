@@ -0,0 +1,43 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.EmailTemplateName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine);
+    }
+
+    @Test
+    void render_BindsTemplateVariables() {
+        String html = renderer.render(EmailTemplateName.ACTIVATE_ACCOUNT, "John Doe",
+                "http://localhost:4200/activate-account", "654321");
+
+        assertTrue(html.contains("Hello John Doe,"));
+        assertTrue(html.contains("654321"));
+        assertTrue(html.contains("href=\"http://localhost:4200/activate-account\""));
+    }
+
+    @Test
+    void prewarm_RendersEveryTemplate() {
+        assertDoesNotThrow(() -> renderer.prewarm());
+    }
+}
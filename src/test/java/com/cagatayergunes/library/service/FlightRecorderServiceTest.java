@@ -0,0 +1,128 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.jfr.BorrowBookEvent;
+import com.cagatayergunes.library.model.request.FlightRecordingRequest;
+import com.cagatayergunes.library.model.response.FlightRecordingResponse;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecorderService();
+        ReflectionTestUtils.setField(service, "directory", directory);
+        ReflectionTestUtils.setField(service, "maxDuration", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "maxSize", DataSize.ofMegabytes(50));
+        ReflectionTestUtils.setField(service, "maxRunning", 1);
+        ReflectionTestUtils.setField(service, "stoppedRetention", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.closeAll();
+    }
+
+    @Test
+    void start_CapsDurationAndAllowsOneRunningRecording() {
+        FlightRecordingResponse started = service.start(new FlightRecordingRequest("slow-borrows", null, Duration.ofHours(2), null, null));
+
+        assertEquals("slow-borrows", started.getName());
+        assertEquals("default", started.getConfiguration());
+        assertEquals("RUNNING", started.getState());
+        assertEquals(Duration.ofMinutes(1), started.getDuration());
+        assertEquals(List.of(started.getId()), service.getRecordings().stream().map(FlightRecordingResponse::getId).toList());
+
+        assertThrows(OperationNotPermittedException.class,
+                () -> service.start(new FlightRecordingRequest(null, null, null, null, null)));
+    }
+
+    @Test
+    void start_RejectsUnknownConfiguration() {
+        assertThrows(OperationNotPermittedException.class,
+                () -> service.start(new FlightRecordingRequest(null, "verbose", null, null, null)));
+        assertTrue(service.getRecordings().isEmpty());
+    }
+
+    @Test
+    void stop_StreamsRecordingWithLibraryEvents() throws Exception {
+        FlightRecordingResponse started = service.start(new FlightRecordingRequest(null, "profile", null, null,
+                Map.of("jdk.ExecutionSample#enabled", "false")));
+        BorrowBookEvent event = new BorrowBookEvent();
+        event.begin();
+        event.setBookId(42);
+        event.setUserId(7);
+        event.setOutcome("success");
+        event.commit();
+
+        Resource resource = service.stop(started.getId());
+        Path copy = directory.resolve("copy.jfr");
+        try (InputStream stream = resource.getInputStream()) {
+            Files.copy(stream, copy);
+        }
+
+        RecordedEvent borrow = RecordingFile.readAllEvents(copy).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.cagatayergunes.library.BorrowBook"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(42, borrow.getLong("bookId"));
+        assertEquals(7, borrow.getLong("userId"));
+        assertEquals("success", borrow.getString("outcome"));
+        assertFalse(Files.exists(directory.resolve("recording-" + started.getId() + ".jfr")));
+        assertTrue(service.getRecordings().isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> service.stop(started.getId()));
+    }
+
+    @Test
+    void evictStopped_ClosesRecordingsStoppedBeforeTheRetention() throws Exception {
+        FlightRecordingResponse started = service.start(new FlightRecordingRequest(null, null, Duration.ofMillis(200), null, null));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!"STOPPED".equals(service.getRecordings().get(0).getState()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals("STOPPED", service.getRecordings().get(0).getState());
+
+        service.evictStopped();
+        assertEquals(List.of(started.getId()), service.getRecordings().stream().map(FlightRecordingResponse::getId).toList());
+
+        ReflectionTestUtils.setField(service, "stoppedRetention", Duration.ZERO);
+        Thread.sleep(10);
+        service.evictStopped();
+        assertTrue(service.getRecordings().isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> service.stop(started.getId()));
+    }
+
+    @Test
+    void discard_ClosesRecordingWithoutDump() {
+        FlightRecordingResponse started = service.start(new FlightRecordingRequest(null, null, null, 1_000_000L, null));
+        assertEquals(1_000_000L, started.getMaxSizeBytes());
+
+        service.discard(started.getId());
+
+        assertTrue(service.getRecordings().isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> service.discard(started.getId()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.projection.OverdueLoan;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OverdueReportWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private BookTransactionHistoryRepository historyRepository;
+    private ThreadPoolTaskExecutor executor;
+    private OverdueReportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        historyRepository = mock(BookTransactionHistoryRepository.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.initialize();
+        writer = new OverdueReportWriter(historyRepository, mock(PlatformTransactionManager.class), executor);
+        ReflectionTestUtils.setField(writer, "partitionSize", 10L);
+        ReflectionTestUtils.setField(writer, "partitionThreads", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void write_MergesPartitionsInIdOrder() throws Exception {
+        when(historyRepository.countOverdue(now)).thenReturn(18L);
+        when(historyRepository.findOverduePartitionStarts(now, 10L)).thenReturn(List.of(1L, 21L));
+        when(historyRepository.streamOverdueLoans(eq(now), anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(1);
+            long to = invocation.getArgument(2);
+            return LongStream.rangeClosed(from, Math.min(to, 35)).filter(id -> id % 2 == 1).mapToObj(this::loan);
+        });
+        Path target = tempDir.resolve("overdue.csv");
+
+        long rows = writer.write(target, now);
+
+        List<String> lines = Files.readAllLines(target, UTF_8);
+        assertEquals(18, rows);
+        assertEquals(OverdueReportWriter.HEADER.strip(), lines.get(0));
+        assertEquals(19, lines.size());
+        assertTrue(lines.get(1).startsWith("Book 1,"));
+        assertTrue(lines.get(18).startsWith("Book 35,"));
+        assertTrue(lines.get(1).endsWith(",4,Patron 1,patron1@example.com"));
+        verify(historyRepository).streamOverdueLoans(now, 1L, 20L);
+        verify(historyRepository).streamOverdueLoans(now, 21L, Long.MAX_VALUE);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(target), files.toList());
+        }
+    }
+
+    @Test
+    void write_WritesOnlyHeaderWhenNothingIsOverdue() throws Exception {
+        Path target = tempDir.resolve("overdue.csv");
+
+        assertEquals(0, writer.write(target, now));
+        assertEquals(OverdueReportWriter.HEADER, Files.readString(target, UTF_8));
+        verify(historyRepository, never()).findOverduePartitionStarts(any(), anyLong());
+        verify(historyRepository, never()).streamOverdueLoans(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void write_GrowsPartitionsToBoundTheirNumber() throws Exception {
+        when(historyRepository.countOverdue(now)).thenReturn(1_000_000L);
+        when(historyRepository.findOverduePartitionStarts(now, 83_334L)).thenReturn(List.of(1L << 22, 5L << 40));
+        when(historyRepository.streamOverdueLoans(eq(now), anyLong(), anyLong())).thenReturn(Stream.empty(), Stream.empty());
+
+        assertEquals(0, writer.write(tempDir.resolve("overdue.csv"), now));
+        verify(historyRepository).streamOverdueLoans(now, 1L << 22, (5L << 40) - 1);
+        verify(historyRepository).streamOverdueLoans(now, 5L << 40, Long.MAX_VALUE);
+    }
+
+    @Test
+    void write_PropagatesPartitionFailure() {
+        when(historyRepository.countOverdue(now)).thenReturn(25L);
+        when(historyRepository.findOverduePartitionStarts(now, 10L)).thenReturn(List.of(1L, 11L, 21L));
+        when(historyRepository.streamOverdueLoans(eq(now), anyLong(), anyLong()))
+                .thenAnswer(invocation -> Stream.of(loan(invocation.getArgument(1))))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenAnswer(invocation -> Stream.of(loan(invocation.getArgument(1))));
+
+        assertThrows(IllegalStateException.class, () -> writer.write(tempDir.resolve("overdue.csv"), now));
+    }
+
+    private OverdueLoan loan(long id) {
+        return new OverdueLoan(id, "Book " + id, "Author", "978" + id, now.minusDays(4), "Patron", String.valueOf(id), "patron" + id + "@example.com");
+    }
+}
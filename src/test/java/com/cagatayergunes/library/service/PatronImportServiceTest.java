@@ -0,0 +1,201 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.model.mapper.PatronImportMapper;
+import com.cagatayergunes.library.repository.PatronImportJobRepository;
+import com.cagatayergunes.library.repository.RoleRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PatronImportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PatronImportJobRepository jobRepository;
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private AuthenticationService authenticationService;
+    private PatronImportService service;
+    private final Role patronRole = Role.builder().id(1L).name(RoleName.PATRON).build();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jobRepository = mock(PatronImportJobRepository.class);
+        userRepository = mock(UserRepository.class);
+        roleRepository = mock(RoleRepository.class);
+        authenticationService = mock(AuthenticationService.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(roleRepository.findByName(RoleName.PATRON)).thenReturn(Optional.of(patronRole));
+        when(jobRepository.save(any(PatronImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+
+        service = new PatronImportService(jobRepository, userRepository, roleRepository, authenticationService,
+                passwordEncoder, new PatronImportMapper(), transactionTemplate, new SyncTaskExecutor(),
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "importDirectory", tempDir);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "retention", Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void run_ImportsCsvInChunksAndSkipsInvalidRows() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.CSV, """
+                email,firstName,lastName,password
+                ada@example.com,Ada,Lovelace,password123
+                "grace@example.com","Grace","Hopper, Rear Admiral",password456
+                not-an-email,Bad,Row,password789
+                alan@example.com,Alan,Turing,short
+                """);
+
+        service.run(job.getId());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(1)).saveAll(captor.capture());
+        List<User> imported = captor.getValue();
+        assertEquals(2, imported.size());
+        assertEquals("Hopper, Rear Admiral", imported.get(1).getLastName());
+        assertEquals("hashed-password123", imported.get(0).getPassword());
+        assertFalse(imported.get(0).isEnabled());
+        assertEquals(List.of(patronRole), imported.get(0).getRoles());
+        verify(authenticationService).queueActivationEmails(imported);
+        verify(roleRepository, times(1)).findByName(RoleName.PATRON);
+
+        assertEquals(PatronImportStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedLines());
+        assertEquals(2, job.getImportedCount());
+        assertEquals(2, job.getSkippedCount());
+        assertTrue(job.getLastError().startsWith("Line 5"));
+        assertNull(job.getSourceFile());
+        assertFalse(Files.exists(tempDir.resolve("import-CSV")));
+    }
+
+    @Test
+    void run_ResumesNdjsonAfterLastCommittedLine() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.NDJSON, """
+                {"firstName":"Ada","lastName":"Lovelace","email":"ada@example.com","password":"password123"}
+                {"firstName":"Grace","lastName":"Hopper","email":"grace@example.com","password":"password456"}
+                {"firstName":"Alan","lastName":"Turing","email":"alan@example.com","password":"password789"}
+                """);
+        job.setProcessedLines(2);
+        job.setImportedCount(2);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+
+        service.run(job.getId());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(captor.capture());
+        assertEquals(List.of("alan@example.com"), captor.getValue().stream().map(User::getEmail).toList());
+        assertEquals(3, job.getImportedCount());
+        assertEquals(PatronImportStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void run_SkipsAlreadyRegisteredEmails() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.CSV, """
+                firstName,lastName,email,password
+                Ada,Lovelace,ada@example.com,password123
+                """);
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("ada@example.com"));
+
+        service.run(job.getId());
+
+        verify(userRepository, never()).saveAll(any());
+        assertEquals(1, job.getSkippedCount());
+        assertEquals(PatronImportStatus.COMPLETED, job.getStatus());
+    }
+
+    @Test
+    void run_FailsOnMissingCsvColumns() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.CSV, """
+                name,email
+                Ada,ada@example.com
+                """);
+
+        service.run(job.getId());
+
+        assertEquals(PatronImportStatus.FAILED, job.getStatus());
+        assertNotNull(job.getLastError());
+        assertTrue(Files.exists(Path.of(job.getSourceFile())));
+    }
+
+    @Test
+    void purgeExpiredSources_DeletesFilesOfFailedImports() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.CSV, "firstName,lastName,email,password\n");
+        job.setStatus(PatronImportStatus.FAILED);
+        Path file = Path.of(job.getSourceFile());
+        when(jobRepository.findByStatusAndFinishedAtBeforeAndSourceFileIsNotNull(eq(PatronImportStatus.FAILED), any()))
+                .thenReturn(List.of(job));
+
+        service.purgeExpiredSources();
+
+        assertFalse(Files.exists(file));
+        assertNull(job.getSourceFile());
+        verify(jobRepository).saveAll(List.of(job));
+        assertThrows(OperationNotPermittedException.class, () -> service.resume(job.getId()));
+    }
+
+    @Test
+    void resume_RejectsCompletedImport() throws Exception {
+        PatronImportJob job = job(PatronImportFormat.CSV, "firstName,lastName,email,password\n");
+        job.setStatus(PatronImportStatus.COMPLETED);
+
+        assertThrows(OperationNotPermittedException.class, () -> service.resume(job.getId()));
+    }
+
+    private PatronImportJob job(PatronImportFormat format, String content) throws Exception {
+        Path file = tempDir.resolve("import-" + format);
+        Files.writeString(file, content);
+        PatronImportJob job = PatronImportJob.builder()
+                .id(7L)
+                .format(format)
+                .status(PatronImportStatus.QUEUED)
+                .sourceFile(file.toString())
+                .totalLines(content.lines().count())
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        return job;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.response.QueryShapeStatisticsResponse;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatisticsServiceTest {
+
+    private static final String BY_TITLE = "select b1_0.id from book b1_0 where b1_0.title like ? and b1_0.shelf = 3";
+    private static final String BY_ID = "select b1_0.id, b1_0.title from book b1_0 where b1_0.id = ?";
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryStatisticsService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new QueryStatisticsService(meterRegistry);
+        ReflectionTestUtils.setField(service, "slowThreshold", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(service, "maxShapes", 3);
+        ReflectionTestUtils.setField(service, "redactParameters", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void normalize_ReplacesLiteralsAndCollapsesInLists() {
+        assertEquals("select * from book b1_0 where b1_0.id in (?...) and b1_0.title = ? and b1_0.shelf = ?",
+                QueryStatisticsService.normalize("""
+                        select * from book b1_0
+                        where b1_0.id in (?,?,?) and b1_0.title = 'It''s' and b1_0.shelf = 12"""));
+        assertEquals(QueryStatisticsService.normalize("select id from book where id in (?, ?)"),
+                QueryStatisticsService.normalize("select id from book where id in (?,?,?,?)"));
+    }
+
+    @Test
+    void record_KeepsLatencyHistogramPerQueryShape() {
+        for (int i = 1; i <= 100; i++) {
+            service.record(BY_ID, new Object[]{(long) i}, 1, TimeUnit.MILLISECONDS.toNanos(i % 10 == 0 ? 50 : 2), false);
+        }
+        service.record(BY_TITLE, new Object[]{"%Dune%"}, 1, TimeUnit.MILLISECONDS.toNanos(20), false);
+        service.record(BY_TITLE.replace("= 3", "= 4"), new Object[]{"%Dune%"}, 1, TimeUnit.MILLISECONDS.toNanos(30), false);
+
+        List<QueryShapeStatisticsResponse> slowest = service.getSlowestQueries(10, "p99");
+        assertEquals(2, slowest.size());
+        QueryShapeStatisticsResponse byId = slowest.get(0);
+        assertEquals(BY_ID, byId.getSql());
+        assertEquals(100, byId.getCount());
+        assertEquals(2.0, byId.getP50Millis(), 0.05);
+        assertEquals(50.0, byId.getP99Millis(), 1);
+        assertEquals(680.0, byId.getTotalMillis(), 7);
+        assertEquals(0, byId.getSlowCount());
+
+        QueryShapeStatisticsResponse byTitle = slowest.get(1);
+        assertEquals(2, byTitle.getCount());
+        assertEquals(30.0, byTitle.getMaxMillis(), 1);
+        assertEquals(List.of(byTitle.getShape()), service.getSlowestQueries(1, "mean").stream()
+                .map(QueryShapeStatisticsResponse::getShape).toList());
+
+        Timer timer = meterRegistry.find(QueryStatisticsService.METRIC_NAME).tag("shape", byId.getShape()).timer();
+        assertNotNull(timer);
+        assertEquals(100, timer.count());
+    }
+
+    @Test
+    void record_AttributesSlowStatementsToEndpointAndMethod() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/search");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/books/search");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        service.record(BY_TITLE, new Object[]{"%Dune%"}, 1, TimeUnit.MILLISECONDS.toNanos(5), false);
+        service.record(BY_TITLE, new Object[]{"%Dune%"}, 1, TimeUnit.MILLISECONDS.toNanos(250), false);
+
+        QueryShapeStatisticsResponse shape = service.getSlowestQueries(1, "max").get(0);
+        assertEquals(1, shape.getSlowCount());
+        assertEquals("GET /books/search", shape.getLastSlowEndpoint());
+        assertEquals("QueryStatisticsServiceTest.record_AttributesSlowStatementsToEndpointAndMethod",
+                shape.getLastSlowMethod());
+
+        RequestContextHolder.resetRequestAttributes();
+        service.record(BY_TITLE, NO_PARAMETERS, 1, TimeUnit.MILLISECONDS.toNanos(250), false);
+        assertEquals("thread " + Thread.currentThread().getName(),
+                service.getSlowestQueries(1, "max").get(0).getLastSlowEndpoint());
+    }
+
+    @Test
+    void parameters_RedactsTextButKeepsIdentifiers() {
+        Object[] parameters = {42L, "reader@example.com", null, true, LocalDate.of(2024, 5, 1), new byte[]{1, 2}};
+
+        assertEquals("[1: 42, 2: <redacted 18 chars>, 3: null, 4: true, 5: 2024-05-01, 6: <redacted byte[]>]",
+                service.parameters(parameters));
+
+        ReflectionTestUtils.setField(service, "redactParameters", false);
+        assertEquals("[1: 42, 2: 'reader@example.com']", service.parameters(new Object[]{42L, "reader@example.com"}));
+    }
+
+    @Test
+    void record_FoldsShapesBeyondTheLimitIntoOne() {
+        for (int table = 0; table < 5; table++) {
+            service.record("select id from shelf_" + table + "_view", NO_PARAMETERS, 1, 1_000_000, false);
+        }
+
+        List<QueryShapeStatisticsResponse> shapes = service.getSlowestQueries(10, "total");
+        assertEquals(4, shapes.size());
+        assertEquals(2, shapes.stream()
+                .filter(shape -> shape.getShape().equals(QueryStatisticsService.OTHER_SHAPE))
+                .findFirst().orElseThrow().getCount());
+
+        service.clearQueryStatistics();
+        assertTrue(service.getSlowestQueries(10, "total").isEmpty());
+        assertTrue(meterRegistry.find(QueryStatisticsService.METRIC_NAME).timers().isEmpty());
+    }
+
+    @Test
+    void getSlowestQueries_RejectsUnknownOrder() {
+        assertThrows(OperationNotPermittedException.class, () -> service.getSlowestQueries(10, "median"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.exception.handler.OperationNotPermittedException;
+import com.cagatayergunes.library.model.*;
+import com.cagatayergunes.library.model.mapper.ReportJobMapper;
+import com.cagatayergunes.library.model.projection.GenreCirculation;
+import com.cagatayergunes.library.model.request.ReportRequest;
+import com.cagatayergunes.library.model.response.ReportJobResponse;
+import com.cagatayergunes.library.repository.BookTransactionHistoryRepository;
+import com.cagatayergunes.library.repository.ReportJobRepository;
+import com.cagatayergunes.library.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ReportJobRepository jobRepository;
+    private BookTransactionHistoryRepository historyRepository;
+    private UserRepository userRepository;
+    private OverdueReportWriter overdueReportWriter;
+    private ReportService service;
+    private Authentication authentication;
+    private final Map<Long, ReportJob> jobs = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jobRepository = mock(ReportJobRepository.class);
+        historyRepository = mock(BookTransactionHistoryRepository.class);
+        userRepository = mock(UserRepository.class);
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        when(jobRepository.findReusableJob(any(), anyString(), any(), any())).thenReturn(Optional.empty());
+        when(jobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            ReportJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(jobs.size() + 1L);
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        when(jobRepository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(jobs.get(invocation.<Long>getArgument(0))));
+
+        authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(User.builder().id(3L).build());
+
+        overdueReportWriter = mock(OverdueReportWriter.class);
+        service = new ReportService(jobRepository, historyRepository, userRepository, overdueReportWriter, new ReportJobMapper(),
+                transactionTemplate, new SyncTaskExecutor());
+        ReflectionTestUtils.setField(service, "reportDirectory", tempDir);
+        ReflectionTestUtils.setField(service, "freshness", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(service, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(service, "maxRuntime", Duration.ofHours(1));
+    }
+
+    @Test
+    void submit_RunsCirculationReportAndStoresCsv() throws Exception {
+        GenreCirculation fiction = genre("Fiction, Classics", 12, 3);
+        when(historyRepository.findCirculationByGenre(LocalDate.of(2026, 1, 1).atStartOfDay(), LocalDate.of(2026, 2, 1).atStartOfDay()))
+                .thenReturn(List.of(fiction));
+
+        ReportJobResponse response = service.submit(
+                new ReportRequest(ReportType.CIRCULATION_BY_GENRE, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), null),
+                authentication);
+
+        ReportJob job = jobs.get(response.getId());
+        assertEquals("from=2026-01-01&to=2026-01-31", job.getParameters());
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(1, job.getRowCount());
+        assertEquals(3L, job.getSubmittedBy());
+        assertFalse(response.isCached());
+
+        Resource result = service.getReportResult(job.getId());
+        assertEquals("genre,loans,active_loans\n\"Fiction, Classics\",12,3\n",
+                Files.readString(result.getFile().toPath(), UTF_8));
+    }
+
+    @Test
+    void submit_DelegatesOverdueReportToPartitionedWriter() throws Exception {
+        when(overdueReportWriter.write(any(), any())).thenAnswer(invocation -> {
+            Files.writeString(invocation.getArgument(0), OverdueReportWriter.HEADER);
+            return 0L;
+        });
+
+        ReportJobResponse response = service.submit(new ReportRequest(ReportType.OVERDUE_BOOKS, null, null, null), authentication);
+
+        ReportJob job = jobs.get(response.getId());
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals("", job.getParameters());
+        assertEquals(OverdueReportWriter.HEADER, Files.readString(Path.of(job.getResultFile()), UTF_8));
+    }
+
+    @Test
+    void submit_ReusesFreshReportWithSameParameters() {
+        ReportJob fresh = ReportJob.builder()
+                .id(41L)
+                .type(ReportType.INACTIVE_PATRONS)
+                .parameters("inactiveDays=90")
+                .status(ReportJobStatus.COMPLETED)
+                .createdAt(LocalDateTime.now().minusMinutes(2))
+                .finishedAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(jobRepository.findReusableJob(eq(ReportType.INACTIVE_PATRONS), eq("inactiveDays=90"), any(), any()))
+                .thenReturn(Optional.of(fresh));
+
+        ReportJobResponse response = service.submit(new ReportRequest(ReportType.INACTIVE_PATRONS, null, null, null), authentication);
+
+        assertEquals(41L, response.getId());
+        assertTrue(response.isCached());
+        verify(jobRepository, never()).save(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void submit_RejectsInvertedDateRange() {
+        ReportRequest request = new ReportRequest(ReportType.CIRCULATION_BY_GENRE,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1), null);
+
+        assertThrows(OperationNotPermittedException.class, () -> service.submit(request, authentication));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void run_MarksReportFailedWhenQueryFails() {
+        when(userRepository.findInactivePatrons(any())).thenThrow(new IllegalStateException("database unavailable"));
+
+        ReportJobResponse response = service.submit(new ReportRequest(ReportType.INACTIVE_PATRONS, null, null, 30), authentication);
+
+        ReportJob job = jobs.get(response.getId());
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertEquals("database unavailable", job.getLastError());
+        assertThrows(OperationNotPermittedException.class, () -> service.getReportResult(job.getId()));
+    }
+
+    @Test
+    void submit_OnlyReusesInFlightReportsWithinMaxRuntime() {
+        LocalDateTime before = LocalDateTime.now();
+
+        service.submit(new ReportRequest(ReportType.INACTIVE_PATRONS, null, null, null), authentication);
+
+        ArgumentCaptor<LocalDateTime> inFlightSince = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).findReusableJob(eq(ReportType.INACTIVE_PATRONS), eq("inactiveDays=90"), any(),
+                inFlightSince.capture());
+        assertFalse(inFlightSince.getValue().isBefore(before.minusHours(1)));
+        assertTrue(inFlightSince.getValue().isBefore(before.minusMinutes(59)));
+    }
+
+    @Test
+    void failInterrupted_FailsJobsQueuedBeforeStartup() {
+        when(jobRepository.failInFlightJobs(any(), anyString(), any())).thenReturn(2);
+
+        service.failInterrupted();
+
+        ArgumentCaptor<LocalDateTime> createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).failInFlightJobs(createdBefore.capture(), eq("Interrupted by an application restart."), any());
+        assertFalse(createdBefore.getValue().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void purgeExpired_FailsReportsRunningPastMaxRuntime() {
+        LocalDateTime before = LocalDateTime.now();
+        when(jobRepository.findByCreatedAtBefore(any())).thenReturn(List.of());
+
+        service.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobRepository).failInFlightJobs(createdBefore.capture(), eq("Did not finish within 60 minutes."), any());
+        assertFalse(createdBefore.getValue().isBefore(before.minusHours(1)));
+    }
+
+    @Test
+    void purgeExpired_DeletesResultFiles() throws Exception {
+        Path result = Files.writeString(tempDir.resolve("report-9.csv"), "genre,loans,active_loans\n");
+        ReportJob expired = ReportJob.builder().id(9L).resultFile(result.toString()).build();
+        when(jobRepository.findByCreatedAtBefore(any())).thenReturn(List.of(expired));
+
+        service.purgeExpired();
+
+        assertFalse(Files.exists(result));
+        verify(jobRepository).deleteAllInBatch(List.of(expired));
+    }
+
+    private GenreCirculation genre(String name, long loans, long activeLoans) {
+        GenreCirculation genre = mock(GenreCirculation.class);
+        when(genre.getGenre()).thenReturn(name);
+        when(genre.getLoans()).thenReturn(loans);
+        when(genre.getActiveLoans()).thenReturn(activeLoans);
+        return genre;
+    }
+}
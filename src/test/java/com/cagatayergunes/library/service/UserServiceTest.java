@@ -4,14 +4,18 @@ import com.cagatayergunes.library.model.Role;
 import com.cagatayergunes.library.model.RoleName;
 import com.cagatayergunes.library.model.User;
 import com.cagatayergunes.library.model.mapper.UserMapper;
+import com.cagatayergunes.library.model.projection.UserRoleSummary;
+import com.cagatayergunes.library.model.projection.UserSummary;
 import com.cagatayergunes.library.model.request.UpdateRoleRequest;
 import com.cagatayergunes.library.model.request.UserRequest;
+import com.cagatayergunes.library.model.response.CursorPageResponse;
 import com.cagatayergunes.library.model.response.UserResponse;
 import com.cagatayergunes.library.repository.RoleRepository;
 import com.cagatayergunes.library.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -55,16 +59,42 @@ class UserServiceTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnAllMappedUsers() {
-        List<User> users = List.of(getMockUser());
-        List<UserResponse> responses = List.of(new UserResponse(1L, "John", "Doe", "john@example.com", false, false, LocalDateTime.now(),LocalDateTime.now(), List.of()));
+    void getUserDirectory_ShouldReturnPageWithNextCursor() {
+        UserSummary first = summary(5L, "john@example.com");
+        UserSummary second = summary(9L, "jane@example.com");
+        UserSummary lookahead = summary(12L, "jack@example.com");
+        UserRoleSummary role = mock(UserRoleSummary.class);
+        when(role.getUserId()).thenReturn(5L);
+        when(role.getRoleName()).thenReturn(RoleName.PATRON);
+
+        when(userRepository.findUserDirectoryPage(eq(0L), any(Pageable.class))).thenReturn(List.of(first, second, lookahead));
+        when(userRepository.findRoleNamesByUserIds(List.of(5L, 9L))).thenReturn(List.of(role));
+        when(mapper.toUserResponse(any(UserSummary.class), anyList())).thenAnswer(invocation -> {
+            UserSummary user = invocation.getArgument(0);
+            List<String> roles = invocation.getArgument(1);
+            return UserResponse.builder().id(user.getId()).email(user.getEmail()).roles(roles).build();
+        });
+
+        CursorPageResponse<UserResponse> result = userService.getUserDirectory(null, 2, null);
+
+        assertEquals(2, result.getContent().size());
+        assertEquals(9L, result.getNextCursor());
+        assertFalse(result.isLast());
+        assertEquals(List.of("PATRON"), result.getContent().get(0).getRoles());
+        assertEquals(List.of(), result.getContent().get(1).getRoles());
+        verify(userRepository, never()).findAll();
+    }
 
-        when(userRepository.findAll()).thenReturn(users);
-        when(mapper.toUserResponse(any(User.class))).thenReturn(responses.get(0));
+    @Test
+    void getUserDirectory_ShouldSearchByEscapedLowercasePrefix() {
+        when(userRepository.searchUserDirectoryPage(eq(9L), eq("jo\\_h%"), any(Pageable.class))).thenReturn(List.of());
 
-        List<UserResponse> result = userService.getAllUsers();
+        CursorPageResponse<UserResponse> result = userService.getUserDirectory(9L, 20, " Jo_H ");
 
-        assertEquals(1, result.size());
+        assertTrue(result.getContent().isEmpty());
+        assertTrue(result.isLast());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findRoleNamesByUserIds(any());
     }
 
     @Test
@@ -122,6 +152,13 @@ class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () -> userService.updateUserRole(1L, request));
     }
 
+    private UserSummary summary(Long id, String email) {
+        UserSummary summary = mock(UserSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getEmail()).thenReturn(email);
+        return summary;
+    }
+
     private User getMockUser() {
         return User.builder()
                 .id(1L)
@@ -0,0 +1,93 @@
+package com.cagatayergunes.library.service;
+
+import com.cagatayergunes.library.model.response.PinnedThreadSiteResponse;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningServiceTest {
+
+    private final Object lock = new Object();
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new VirtualThreadPinningService(meterRegistry);
+        ReflectionTestUtils.setField(service, "virtualThreads", true);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "threshold", Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void start_ReportsSynchronizedBlockingOnVirtualThread() throws Exception {
+        service.start();
+
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+        Thread.ofVirtual().start(this::sleepWithoutMonitor).join();
+
+        List<PinnedThreadSiteResponse> sites = awaitPinnedSites();
+        assertEquals(1, sites.size());
+        PinnedThreadSiteResponse site = sites.get(0);
+        assertEquals(getClass().getName() + ".sleepWhileHoldingMonitor", site.getSite());
+        assertEquals(1, site.getPinnedCount());
+        assertTrue(site.getMaxMillis() >= 50, "pinned for " + site.getMaxMillis() + " ms");
+        assertTrue(site.getStackTrace().stream().anyMatch(frame -> frame.contains("sleepWhileHoldingMonitor")));
+
+        Timer timer = meterRegistry.find(VirtualThreadPinningService.METRIC_NAME).tag("site", site.getSite()).timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+
+        service.clearPinnedSites();
+        assertTrue(service.getPinnedSites().isEmpty());
+    }
+
+    @Test
+    void start_DoesNothingOnPlatformThreads() {
+        ReflectionTestUtils.setField(service, "virtualThreads", false);
+
+        service.start();
+
+        assertNull(ReflectionTestUtils.getField(service, "recording"));
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(60);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void sleepWithoutMonitor() {
+        try {
+            Thread.sleep(60);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<PinnedThreadSiteResponse> awaitPinnedSites() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (service.getPinnedSites().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        return service.getPinnedSites();
+    }
+}